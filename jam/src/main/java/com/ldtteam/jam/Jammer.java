@@ -7,12 +7,14 @@ import com.ldtteam.jam.spi.IJammer;
 import com.ldtteam.jam.spi.asm.*;
 import com.ldtteam.jam.spi.ast.named.INamedAST;
 import com.ldtteam.jam.spi.configuration.Configuration;
+import com.ldtteam.jam.spi.configuration.ExecutionConfiguration;
 import com.ldtteam.jam.spi.configuration.InputConfiguration;
 import com.ldtteam.jam.spi.configuration.MappingRuntimeConfiguration;
 import com.ldtteam.jam.spi.configuration.OutputConfiguration;
 import com.ldtteam.jam.spi.mapping.MappingResult;
 import com.ldtteam.jam.spi.name.IExistingNameSupplier;
 import com.ldtteam.jam.statistics.MappingStatistics;
+import com.ldtteam.jam.util.ClassDataUtils;
 import com.ldtteam.jam.util.MethodDataUtils;
 import com.ldtteam.jam.util.SetsUtil;
 import com.machinezoo.noexception.Exceptions;
@@ -20,7 +22,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -55,9 +62,7 @@ public class Jammer implements IJammer {
                 );
 
 
-        final Set<LoadedASMData> data = configuration.inputs().stream()
-                .map(ASMDataLoader::load)
-                .collect(Collectors.toSet());
+        final List<LoadedASMData> data = ASMDataLoader.load(configuration.inputs(), configuration.loadingConfiguration());
 
         record LoadedASMDataByInputName(String name, LoadedASMData data) {
         }
@@ -110,8 +115,7 @@ public class Jammer implements IJammer {
         }
         final Map<MethodData, ClassData> classDatasByMethodDatas = data.stream()
                 .flatMap(inputData -> inputData.classes().stream())
-                .flatMap(classData -> classData.node().methods.stream()
-                        .map(node -> new MethodData(classData, node))
+                .flatMap(classData -> ClassDataUtils.methodsAsStream(classData)
                         .map(methodData -> new ClassDatasByMethodDataEntry(methodData, classData)))
                 .collect(Collectors.toMap(ClassDatasByMethodDataEntry::methodData, ClassDatasByMethodDataEntry::classData));
 
@@ -119,8 +123,7 @@ public class Jammer implements IJammer {
         }
         final Map<FieldData, ClassData> classDatasByFieldDatas = data.stream()
                 .flatMap(inputData -> inputData.classes().stream())
-                .flatMap(classData -> classData.node().fields.stream()
-                        .map(node -> new FieldData(classData, node))
+                .flatMap(classData -> ClassDataUtils.fieldsAsStream(classData)
                         .map(fieldData -> new ClassDatasByFieldDataEntry(fieldData, classData)))
                 .collect(Collectors.toMap(ClassDatasByFieldDataEntry::fieldData, ClassDatasByFieldDataEntry::classData));
 
@@ -133,7 +136,7 @@ public class Jammer implements IJammer {
                 .collect(Collectors.toMap(MethodDatasByParameterDataEntry::parameterData, MethodDatasByParameterDataEntry::methodData));
 
         LOGGER.info("Mapping direct inputs...");
-        final LinkedHashMap<TransitionMappingResultKey, JarMappingResult> transitionMappings = buildTransitionMap(configuration, dataByInputName);
+        final LinkedHashMap<TransitionMappingResultKey, JarMappingResult> transitionMappings = buildTransitionMap(configuration, data.stream().collect(Collectors.toMap(LoadedASMData::name, Function.identity())));
         final JarMappingResult lastMappingResult = transitionMappings.values().iterator().next();
 
         LOGGER.info("Collecting primary mapping statistics...");
@@ -164,8 +167,8 @@ public class Jammer implements IJammer {
         final Set<ParameterData> rejuvenatedParameters = Sets.newHashSet();
         additionallyMappedClasses.forEach((nextGenClass, transitiveCurrentGenClass) -> {
             //We are talking about the A_A case here, so no methods inside this will be mapped.
-            final Set<MethodData> unmappedNextGenMethods = nextGenClass.node().methods.stream().map(node -> new MethodData(nextGenClass, node)).collect(SetsUtil.methods());
-            final Set<MethodData> unmappedCurrentGenMethods = transitiveCurrentGenClass.node().methods.stream().map(node -> new MethodData(transitiveCurrentGenClass, node)).collect(SetsUtil.methods());
+            final Set<MethodData> unmappedNextGenMethods = ClassDataUtils.methodsAsSet(nextGenClass);
+            final Set<MethodData> unmappedCurrentGenMethods = ClassDataUtils.methodsAsSet(transitiveCurrentGenClass);
 
             final MappingResult<MethodData> transitiveMethodMapping = configuration.runtimeConfiguration().methodMapper().map(unmappedNextGenMethods, unmappedCurrentGenMethods);
 
@@ -190,8 +193,8 @@ public class Jammer implements IJammer {
         final Set<FieldData> rejuvenatedFields = Sets.newHashSet();
         additionallyMappedClasses.forEach((nextGenClass, transitiveCurrentGenClass) -> {
             //We are talking about the A_A case here, so no fields inside this will be mapped.
-            final Set<FieldData> unmappedNextGenFields = nextGenClass.node().fields.stream().map(node -> new FieldData(nextGenClass, node)).collect(SetsUtil.fields());
-            final Set<FieldData> unmappedCurrentGenFields = transitiveCurrentGenClass.node().fields.stream().map(node -> new FieldData(transitiveCurrentGenClass, node)).collect(SetsUtil.fields());
+            final Set<FieldData> unmappedNextGenFields = ClassDataUtils.fieldsAsSet(nextGenClass);
+            final Set<FieldData> unmappedCurrentGenFields = ClassDataUtils.fieldsAsSet(transitiveCurrentGenClass);
 
             final MappingResult<FieldData> transitiveFieldMapping = configuration.runtimeConfiguration().fieldMapper().map(unmappedNextGenFields, unmappedCurrentGenFields);
 
@@ -266,6 +269,9 @@ public class Jammer implements IJammer {
         LOGGER.info("Collecting total statistics...");
         collectTotalStatistics(mappingStatistics, mappedClasses, mappedMethods, mappedFields, mappedParameters, unmappedClasses, unmappedMethods, unmappedFields, unmappedParameters);
 
+        LOGGER.info("Collecting fuzzy matching statistics...");
+        configuration.runtimeConfiguration().fuzzyMatchingStatistics().ifPresent(mappingStatistics.getFuzzyMatchingStatistics()::load);
+
         LOGGER.info("Writing statistics...");
         writeStatistics(mappingStatistics, configuration);
     }
@@ -366,10 +372,11 @@ public class Jammer implements IJammer {
         }
     }
 
-    private LinkedHashMap<TransitionMappingResultKey, JarMappingResult> buildTransitionMap(final Configuration configuration, final Map<String, IASMData> dataByInputName) {
+    private LinkedHashMap<TransitionMappingResultKey, JarMappingResult> buildTransitionMap(final Configuration configuration, final Map<String, LoadedASMData> dataByInputName) {
         final LinkedHashMap<TransitionMappingResultKey, JarMappingResult> transitionMappingResults = Maps.newLinkedHashMap();
 
         final LinkedList<InputConfiguration> inputs = new LinkedList<>(configuration.inputs());
+        final List<TransitionMappingResultKey> transitions = new ArrayList<>();
 
         while (
                 inputs.size() > 1
@@ -377,15 +384,53 @@ public class Jammer implements IJammer {
             InputConfiguration target = inputs.removeLast();
             InputConfiguration current = inputs.peekLast();
 
-            LOGGER.info("Mapping {} to {}", Objects.requireNonNull(current).name(), target.name());
+            transitions.add(new TransitionMappingResultKey(Objects.requireNonNull(current).name(), target.name()));
+        }
+
+        final Function<TransitionMappingResultKey, JarMappingResult> transitionMapper = transition -> {
+            final LoadedASMData currentGen = dataByInputName.get(transition.currentGenName());
+            final LoadedASMData nextGen = dataByInputName.get(transition.nextGenName());
 
-            JarMappingResult initialMappingResult = mapDirectly(
-                    dataByInputName.get(current.name()).classes(),
-                    dataByInputName.get(target.name()).classes(),
-                    configuration.runtimeConfiguration()
+            final Optional<Path> cacheFile = TransitionMappingCache.locate(configuration.loadingConfiguration().cacheDirectory(), currentGen, nextGen, configuration.runtimeConfiguration());
+            final Optional<JarMappingResult> cachedResult = cacheFile.flatMap(file -> TransitionMappingCache.read(file, currentGen, nextGen));
+            if (cachedResult.isPresent()) {
+                LOGGER.info("Loaded mapping of {} to {} from the cache", transition.currentGenName(), transition.nextGenName());
+                return cachedResult.get();
+            }
+
+            LOGGER.info("Mapping {} to {}", transition.currentGenName(), transition.nextGenName());
+
+            final JarMappingResult mappingResult = mapDirectly(
+                    currentGen.classes(),
+                    nextGen.classes(),
+                    configuration.runtimeConfiguration(),
+                    configuration.executionConfiguration()
             );
 
-            transitionMappingResults.put(new TransitionMappingResultKey(current.name(), target.name()), initialMappingResult);
+            cacheFile.ifPresent(file -> TransitionMappingCache.write(file, mappingResult));
+            return mappingResult;
+        };
+
+        //Transitions never read each other's results, so they can be computed concurrently. They are still inserted in the
+        //order of the inputs, newest first, since the later stages rely on that order.
+        final int parallelism = Math.min(configuration.executionConfiguration().transitionMappingParallelism(), transitions.size());
+        if (parallelism <= 1) {
+            transitions.forEach(transition -> transitionMappingResults.put(transition, transitionMapper.apply(transition)));
+            return transitionMappingResults;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            final List<Future<JarMappingResult>> mappingTransitions = transitions.stream()
+                    .map(transition -> executor.submit(() -> transitionMapper.apply(transition)))
+                    .toList();
+
+            for (int i = 0; i < transitions.size(); i++) {
+                final Future<JarMappingResult> mappingTransition = mappingTransitions.get(i);
+                transitionMappingResults.put(transitions.get(i), Exceptions.sneak().get(mappingTransition::get));
+            }
+        } finally {
+            executor.shutdownNow();
         }
 
         return transitionMappingResults;
@@ -423,8 +468,8 @@ public class Jammer implements IJammer {
         final BiMap<ClassData, ClassData> currentLastEntry = HashBiMap.create();
 
         currentClassMappings.forEach((source, target) -> {
-            final Set<MethodData> availableMethods = target.node().methods.stream().map(node -> new MethodData(target, node)).collect(SetsUtil.methods());
-            final Set<FieldData> availableFields = target.node().fields.stream().map(node -> new FieldData(target, node)).collect(SetsUtil.fields());
+            final Set<MethodData> availableMethods = ClassDataUtils.methodsAsSet(target);
+            final Set<FieldData> availableFields = ClassDataUtils.fieldsAsSet(target);
 
             if (initial.classes().mappings().containsKey(source)) {
 
@@ -455,8 +500,8 @@ public class Jammer implements IJammer {
                     final ClassData newLastInChain = next.classes().mappings().get(lastEntry);
                     final ClassData nextGenData = invertedCurrentLastEntry.get(lastEntry);
 
-                    final Set<MethodData> availableMethods = newLastInChain.node().methods.stream().map(node -> new MethodData(newLastInChain, node)).collect(SetsUtil.methods());
-                    final Set<FieldData> availableFields = newLastInChain.node().fields.stream().map(node -> new FieldData(newLastInChain, node)).collect(SetsUtil.fields());
+                    final Set<MethodData> availableMethods = ClassDataUtils.methodsAsSet(newLastInChain);
+                    final Set<FieldData> availableFields = ClassDataUtils.fieldsAsSet(newLastInChain);
 
                     availableMethods.removeIf(method -> !next.methods().unmappedCandidates().contains(method));
                     availableFields.removeIf(field -> !next.fields().unmappedCandidates().contains(field));
@@ -525,7 +570,11 @@ public class Jammer implements IJammer {
         return transitiveMethodMappings;
     }
 
-    private JarMappingResult mapDirectly(final Set<ClassData> currentGenClasses, final Set<ClassData> nextGenClasses, final MappingRuntimeConfiguration runtimeConfiguration) {
+    private JarMappingResult mapDirectly(
+            final Set<ClassData> currentGenClasses,
+            final Set<ClassData> nextGenClasses,
+            final MappingRuntimeConfiguration runtimeConfiguration,
+            final ExecutionConfiguration executionConfiguration) {
         final MappingResult<ClassData> classMappingResult = runtimeConfiguration.classMapper().map(nextGenClasses, currentGenClasses);
 
         final Set<MethodData> unmappedCurrentGenMethods = Sets.newHashSet();
@@ -536,86 +585,116 @@ public class Jammer implements IJammer {
         final Set<ParameterData> unmappedNextGenParameters = Sets.newHashSet();
         final BiMap<ParameterData, ParameterData> mappedParameters = HashBiMap.create();
 
+        final Set<FieldData> unmappedCurrentGenFields = Sets.newHashSet();
+        final Set<FieldData> unmappedNextGenFields = Sets.newHashSet();
+        final BiMap<FieldData, FieldData> mappedFields = HashBiMap.create();
+
         classMappingResult.unmappedCandidates().stream()
-                .flatMap(classData -> classData.node().methods.stream()
-                        .map(method -> new MethodData(classData, method)))
+                .flatMap(ClassDataUtils::methodsAsStream)
                 .peek(methodData -> unmappedCurrentGenParameters.addAll(MethodDataUtils.parametersAsSet(methodData)))
                 .forEach(unmappedCurrentGenMethods::add);
 
         classMappingResult.unmappedSources().stream()
-                .flatMap(classData -> classData.node().methods.stream()
-                        .map(method -> new MethodData(classData, method)))
+                .flatMap(ClassDataUtils::methodsAsStream)
                 .peek(methodData -> unmappedNextGenParameters.addAll(MethodDataUtils.parametersAsSet(methodData)))
                 .forEach(unmappedNextGenMethods::add);
 
-        classMappingResult.mappings()
-                .forEach((nextGenClass, currentGenClass) -> {
-                    final Set<MethodData> nextGenMethods = nextGenClass.node().methods.stream().map(node -> new MethodData(nextGenClass, node)).collect(SetsUtil.methods());
-                    final Set<MethodData> currentGenMethods = currentGenClass.node().methods.stream().map(node -> new MethodData(currentGenClass, node)).collect(SetsUtil.methods());
+        classMappingResult.unmappedCandidates().stream()
+                .flatMap(ClassDataUtils::fieldsAsStream)
+                .forEach(unmappedCurrentGenFields::add);
 
-                    final MappingResult<MethodData> classMethodMapping =
-                            runtimeConfiguration.methodMapper().map(nextGenMethods, currentGenMethods);
+        classMappingResult.unmappedSources().stream()
+                .flatMap(ClassDataUtils::fieldsAsStream)
+                .forEach(unmappedNextGenFields::add);
 
-                    unmappedCurrentGenMethods.addAll(classMethodMapping.unmappedCandidates());
-                    unmappedNextGenMethods.addAll(classMethodMapping.unmappedSources());
-                    mappedMethods.putAll(classMethodMapping.mappings());
+        //The class pairs are independent of each other, so their members can be mapped concurrently. The results are merged
+        //in the iteration order of the class mappings, which fills the sets and maps exactly like a sequential run does.
+        final List<Map.Entry<ClassData, ClassData>> classPairs = List.copyOf(classMappingResult.mappings().entrySet());
+        final List<ClassPairMappingResult> classPairMappingResults = mapClassPairs(classPairs, runtimeConfiguration, executionConfiguration.classPairMappingParallelism());
 
-                    classMethodMapping.unmappedSources().stream()
-                            .flatMap(MethodDataUtils::parametersAsStream)
-                            .forEach(unmappedNextGenParameters::add);
+        classPairMappingResults.forEach(classPairMappingResult -> {
+            final MappingResult<MethodData> classMethodMapping = classPairMappingResult.methods();
 
-                    classMethodMapping.mappings()
-                            .forEach((nextGenMethod, currentGenMethod) -> {
-                                final Set<ParameterData> nextGenParameters = MethodDataUtils.parametersAsSet(nextGenMethod);
-                                final Set<ParameterData> currentGenParameters = MethodDataUtils.parametersAsSet(currentGenMethod);
+            unmappedCurrentGenMethods.addAll(classMethodMapping.unmappedCandidates());
+            unmappedNextGenMethods.addAll(classMethodMapping.unmappedSources());
+            mappedMethods.putAll(classMethodMapping.mappings());
 
-                                final MappingResult<ParameterData> classParameterMapping =
-                                        runtimeConfiguration.parameterMapper().map(nextGenParameters, currentGenParameters);
+            classMethodMapping.unmappedSources().stream()
+                    .flatMap(MethodDataUtils::parametersAsStream)
+                    .forEach(unmappedNextGenParameters::add);
 
-                                unmappedCurrentGenParameters.addAll(classParameterMapping.unmappedCandidates());
-                                unmappedNextGenParameters.addAll(classParameterMapping.unmappedSources());
-                                mappedParameters.putAll(classParameterMapping.mappings());
-                            });
-                });
+            classPairMappingResult.parameters().forEach(classParameterMapping -> {
+                unmappedCurrentGenParameters.addAll(classParameterMapping.unmappedCandidates());
+                unmappedNextGenParameters.addAll(classParameterMapping.unmappedSources());
+                mappedParameters.putAll(classParameterMapping.mappings());
+            });
+        });
+
+        classPairMappingResults.forEach(classPairMappingResult -> {
+            final MappingResult<FieldData> classFieldMapping = classPairMappingResult.fields();
+
+            unmappedCurrentGenFields.addAll(classFieldMapping.unmappedCandidates());
+            unmappedNextGenFields.addAll(classFieldMapping.unmappedSources());
+            mappedFields.putAll(classFieldMapping.mappings());
+        });
 
         final MappingResult<MethodData> methodMappingResult = new MappingResult<>(unmappedNextGenMethods, mappedMethods, unmappedCurrentGenMethods);
         final MappingResult<ParameterData> parameterMappingResult = new MappingResult<>(unmappedNextGenParameters, mappedParameters, unmappedCurrentGenParameters);
+        final MappingResult<FieldData> fieldMappingResult = new MappingResult<>(unmappedNextGenFields, mappedFields, unmappedCurrentGenFields);
 
-        final Set<FieldData> unmappedCurrentGenFields = Sets.newHashSet();
-        final Set<FieldData> unmappedNextGenFields = Sets.newHashSet();
-        final BiMap<FieldData, FieldData> mappedFields = HashBiMap.create();
+        return new JarMappingResult(
+                classMappingResult,
+                methodMappingResult,
+                fieldMappingResult,
+                parameterMappingResult
+        );
+    }
 
-        classMappingResult.unmappedCandidates().stream()
-                .flatMap(classData -> classData.node().fields.stream()
-                        .map(field -> new FieldData(classData, field)))
-                .forEach(unmappedCurrentGenFields::add);
+    private List<ClassPairMappingResult> mapClassPairs(
+            final List<Map.Entry<ClassData, ClassData>> classPairs,
+            final MappingRuntimeConfiguration runtimeConfiguration,
+            final int parallelism) {
+        if (parallelism <= 1) {
+            return classPairs.stream()
+                    .map(classPair -> mapClassPair(classPair.getKey(), classPair.getValue(), runtimeConfiguration))
+                    .toList();
+        }
 
-        classMappingResult.unmappedSources().stream()
-                .flatMap(classData -> classData.node().fields.stream()
-                        .map(field -> new FieldData(classData, field)))
-                .forEach(unmappedNextGenFields::add);
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return Exceptions.sneak().get(() -> pool.submit(
+                    () -> classPairs.parallelStream()
+                            .map(classPair -> mapClassPair(classPair.getKey(), classPair.getValue(), runtimeConfiguration))
+                            .toList()
+            ).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
 
-        classMappingResult.mappings()
-                .forEach((nextGenClass, currentGenClass) -> {
-                    final Set<FieldData> nextGenFields = nextGenClass.node().fields.stream().map(node -> new FieldData(nextGenClass, node)).collect(SetsUtil.fields());
-                    final Set<FieldData> currentGenFields = currentGenClass.node().fields.stream().map(node -> new FieldData(currentGenClass, node)).collect(SetsUtil.fields());
+    private ClassPairMappingResult mapClassPair(final ClassData nextGenClass, final ClassData currentGenClass, final MappingRuntimeConfiguration runtimeConfiguration) {
+        final Set<MethodData> nextGenMethods = ClassDataUtils.methodsAsSet(nextGenClass);
+        final Set<MethodData> currentGenMethods = ClassDataUtils.methodsAsSet(currentGenClass);
 
-                    final MappingResult<FieldData> classFieldMapping =
-                            runtimeConfiguration.fieldMapper().map(nextGenFields, currentGenFields);
+        final MappingResult<MethodData> classMethodMapping =
+                runtimeConfiguration.methodMapper().map(nextGenMethods, currentGenMethods);
 
-                    unmappedCurrentGenFields.addAll(classFieldMapping.unmappedCandidates());
-                    unmappedNextGenFields.addAll(classFieldMapping.unmappedSources());
-                    mappedFields.putAll(classFieldMapping.mappings());
+        final List<MappingResult<ParameterData>> classParameterMappings = new ArrayList<>(classMethodMapping.mappings().size());
+        classMethodMapping.mappings()
+                .forEach((nextGenMethod, currentGenMethod) -> {
+                    final Set<ParameterData> nextGenParameters = MethodDataUtils.parametersAsSet(nextGenMethod);
+                    final Set<ParameterData> currentGenParameters = MethodDataUtils.parametersAsSet(currentGenMethod);
+
+                    classParameterMappings.add(runtimeConfiguration.parameterMapper().map(nextGenParameters, currentGenParameters));
                 });
 
-        final MappingResult<FieldData> fieldMappingResult = new MappingResult<>(unmappedNextGenFields, mappedFields, unmappedCurrentGenFields);
+        final Set<FieldData> nextGenFields = ClassDataUtils.fieldsAsSet(nextGenClass);
+        final Set<FieldData> currentGenFields = ClassDataUtils.fieldsAsSet(currentGenClass);
 
-        return new JarMappingResult(
-                classMappingResult,
-                methodMappingResult,
-                fieldMappingResult,
-                parameterMappingResult
-        );
+        final MappingResult<FieldData> classFieldMapping =
+                runtimeConfiguration.fieldMapper().map(nextGenFields, currentGenFields);
+
+        return new ClassPairMappingResult(classMethodMapping, classParameterMappings, classFieldMapping);
     }
 
     private BiMap<MethodData, MethodData> mapMethodsTransitively(
@@ -874,6 +953,9 @@ public class Jammer implements IJammer {
     record HistoricalClassMapping(ClassData classData, Set<MethodData> unmappedMethods, Set<FieldData> unmappedFields) {
     }
 
+    record ClassPairMappingResult(MappingResult<MethodData> methods, List<MappingResult<ParameterData>> parameters, MappingResult<FieldData> fields) {
+    }
+
     record HistoricalMethodMapping(MethodData methodData, Set<ParameterData> unmappedParameters) {
     }
 }
@@ -0,0 +1,229 @@
+package com.ldtteam.jam;
+
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import com.ldtteam.jam.loader.ASMDataOrdinals;
+import com.ldtteam.jam.loader.LoadedASMData;
+import com.ldtteam.jam.spi.asm.ClassData;
+import com.ldtteam.jam.spi.asm.FieldData;
+import com.ldtteam.jam.spi.asm.MethodData;
+import com.ldtteam.jam.spi.asm.ParameterData;
+import com.ldtteam.jam.spi.configuration.MappingRuntimeConfiguration;
+import com.ldtteam.jam.spi.mapping.MappingResult;
+import com.ldtteam.jam.util.SetsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * A cache of the direct mapping results of the transitions between two versions.
+ * A transition is stored by the ordinals of its classes and members, keyed by the cache keys of both versions and the
+ * cache key of the mapping runtime configuration, so that historical transitions do not need to be mapped again.
+ * <p>
+ * The key also contains the implementation version of jammer and {@link #ALGORITHM_VERSION}, because the results depend on
+ * the implementation of the mappers as well. Builds without an implementation version, like development builds, do not
+ * use the cache at all, as their mappers can change without any version changing.
+ */
+final class TransitionMappingCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransitionMappingCache.class);
+
+    private static final int    MAGIC                = 0x4A414D54;
+    private static final int    FORMAT_VERSION       = 1;
+    //Bump this whenever a change to the mappers or matchers changes their results.
+    private static final int    ALGORITHM_VERSION    = 1;
+    private static final String CACHE_FILE_EXTENSION = ".transition";
+
+    private TransitionMappingCache()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: TransitionMappingCache. This is a utility class");
+    }
+
+    /**
+     * Determines the cache file for the transition between the given versions.
+     *
+     * @param cacheDirectory The cache directory, if caching is enabled.
+     * @param currentGen The data of the older version.
+     * @param nextGen The data of the newer version.
+     * @param runtimeConfiguration The mapping runtime configuration used to map the transition.
+     * @return The cache file for the transition, or empty if the transition can not be cached.
+     */
+    public static Optional<Path> locate(final Optional<Path> cacheDirectory, final LoadedASMData currentGen, final LoadedASMData nextGen, final MappingRuntimeConfiguration runtimeConfiguration)
+    {
+        if (cacheDirectory.isEmpty() || currentGen.cacheKey().isEmpty() || nextGen.cacheKey().isEmpty() || runtimeConfiguration.cacheKey().isEmpty())
+        {
+            return Optional.empty();
+        }
+
+        final String version = TransitionMappingCache.class.getPackage().getImplementationVersion();
+        if (version == null)
+        {
+            LOGGER.debug("Jammer has no implementation version. Transitions will not be cached.");
+            return Optional.empty();
+        }
+
+        final String key = Hashing.sha256()
+          .newHasher()
+          .putString(currentGen.cacheKey().get(), StandardCharsets.UTF_8)
+          .putString(nextGen.cacheKey().get(), StandardCharsets.UTF_8)
+          .putString(runtimeConfiguration.cacheKey().get(), StandardCharsets.UTF_8)
+          .putString(version, StandardCharsets.UTF_8)
+          .putInt(FORMAT_VERSION)
+          .putInt(ALGORITHM_VERSION)
+          .hash()
+          .toString();
+
+        return Optional.of(cacheDirectory.get().resolve(key + CACHE_FILE_EXTENSION));
+    }
+
+    /**
+     * Reads the transition from the given cache file.
+     *
+     * @param cacheFile The cache file to read.
+     * @param currentGen The data of the older version.
+     * @param nextGen The data of the newer version.
+     * @return The mapping result of the transition, or empty if the cache file is missing or invalid.
+     */
+    public static Optional<JarMappingResult> read(final Path cacheFile, final LoadedASMData currentGen, final LoadedASMData nextGen)
+    {
+        if (!Files.isRegularFile(cacheFile))
+        {
+            return Optional.empty();
+        }
+
+        final ASMDataOrdinals current = currentGen.ordinals();
+        final ASMDataOrdinals next = nextGen.ordinals();
+        try (final DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile))))
+        {
+            if (stream.readInt() != MAGIC || stream.readInt() != FORMAT_VERSION)
+            {
+                LOGGER.warn("The transition cache file: {} has an unknown format. Ignoring it.", cacheFile);
+                return Optional.empty();
+            }
+
+            //The classes are mapped by a name based mapper, which keeps the ordered sets of the loaded data.
+            final MappingResult<ClassData> classes = readMappingResult(stream, next.classes()::get, current.classes()::get, () -> new TreeSet<>(SetsUtil.CLASS_ORDER));
+            final MappingResult<MethodData> methods = readMappingResult(stream, next.methods()::get, current.methods()::get, Sets::newHashSet);
+            final MappingResult<FieldData> fields = readMappingResult(stream, next.fields()::get, current.fields()::get, Sets::newHashSet);
+            final MappingResult<ParameterData> parameters = readMappingResult(stream, next.parameters()::get, current.parameters()::get, Sets::newHashSet);
+
+            return Optional.of(new JarMappingResult(classes, methods, fields, parameters));
+        }
+        catch (IOException | IndexOutOfBoundsException e)
+        {
+            LOGGER.warn("Failed to read the transition cache file: {}. Ignoring it.", cacheFile, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the transition to the given cache file.
+     * Nothing is written if any of the mapped data has no ordinal.
+     *
+     * @param cacheFile The cache file to write.
+     * @param result The mapping result of the transition.
+     */
+    public static void write(final Path cacheFile, final JarMappingResult result)
+    {
+        final boolean isIndexed = isIndexed(result.classes(), ClassData::ordinal)
+          && isIndexed(result.methods(), MethodData::ordinal)
+          && isIndexed(result.fields(), FieldData::ordinal)
+          && isIndexed(result.parameters(), ParameterData::ordinal);
+        if (!isIndexed)
+        {
+            LOGGER.debug("The transition for: {} contains data without an ordinal. It will not be cached.", cacheFile);
+            return;
+        }
+
+        try
+        {
+            Files.createDirectories(cacheFile.getParent());
+            final Path temporaryFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (final DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile))))
+            {
+                stream.writeInt(MAGIC);
+                stream.writeInt(FORMAT_VERSION);
+                writeMappingResult(stream, result.classes(), ClassData::ordinal);
+                writeMappingResult(stream, result.methods(), MethodData::ordinal);
+                writeMappingResult(stream, result.fields(), FieldData::ordinal);
+                writeMappingResult(stream, result.parameters(), ParameterData::ordinal);
+            }
+
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Failed to write the transition cache file: {}", cacheFile, e);
+        }
+    }
+
+    private static <T> boolean isIndexed(final MappingResult<T> result, final ToIntFunction<T> ordinal)
+    {
+        return result.unmappedSources().stream().allMatch(data -> ordinal.applyAsInt(data) >= 0)
+          && result.mappings().entrySet().stream().allMatch(entry -> ordinal.applyAsInt(entry.getKey()) >= 0 && ordinal.applyAsInt(entry.getValue()) >= 0)
+          && result.unmappedCandidates().stream().allMatch(data -> ordinal.applyAsInt(data) >= 0);
+    }
+
+    private static <T> void writeMappingResult(final DataOutputStream stream, final MappingResult<T> result, final ToIntFunction<T> ordinal) throws IOException
+    {
+        stream.writeInt(result.unmappedSources().size());
+        for (final T source : result.unmappedSources())
+        {
+            stream.writeInt(ordinal.applyAsInt(source));
+        }
+
+        stream.writeInt(result.mappings().size());
+        for (final Map.Entry<T, T> mapping : result.mappings().entrySet())
+        {
+            stream.writeInt(ordinal.applyAsInt(mapping.getKey()));
+            stream.writeInt(ordinal.applyAsInt(mapping.getValue()));
+        }
+
+        stream.writeInt(result.unmappedCandidates().size());
+        for (final T candidate : result.unmappedCandidates())
+        {
+            stream.writeInt(ordinal.applyAsInt(candidate));
+        }
+    }
+
+    private static <T> MappingResult<T> readMappingResult(
+      final DataInputStream stream,
+      final IntFunction<T> sourceByOrdinal,
+      final IntFunction<T> candidateByOrdinal,
+      final Supplier<Set<T>> setFactory) throws IOException
+    {
+        final Set<T> unmappedSources = setFactory.get();
+        final int unmappedSourceCount = stream.readInt();
+        for (int i = 0; i < unmappedSourceCount; i++)
+        {
+            unmappedSources.add(sourceByOrdinal.apply(stream.readInt()));
+        }
+
+        final int mappingCount = stream.readInt();
+        final BiMap<T, T> mappings = HashBiMap.create(mappingCount);
+        for (int i = 0; i < mappingCount; i++)
+        {
+            mappings.put(sourceByOrdinal.apply(stream.readInt()), candidateByOrdinal.apply(stream.readInt()));
+        }
+
+        final Set<T> unmappedCandidates = setFactory.get();
+        final int unmappedCandidateCount = stream.readInt();
+        for (int i = 0; i < unmappedCandidateCount; i++)
+        {
+            unmappedCandidates.add(candidateByOrdinal.apply(stream.readInt()));
+        }
+
+        return new MappingResult<>(unmappedSources, mappings, unmappedCandidates);
+    }
+}
@@ -20,19 +20,23 @@ import com.ldtteam.jam.spi.ast.named.builder.INamedASTBuilder;
 import com.ldtteam.jam.spi.ast.named.builder.INamedClassBuilder;
 import com.ldtteam.jam.spi.name.INameProvider;
 import com.ldtteam.jam.spi.name.IRemapper;
+import com.ldtteam.jam.util.ClassDataUtils;
+import com.ldtteam.jam.util.ClassHierarchyIndex;
 import com.ldtteam.jam.util.MethodDataUtils;
+import com.ldtteam.jam.util.UnionFind;
 import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 public class NamedASTBuilder implements INamedASTBuilder {
@@ -69,10 +73,10 @@ public class NamedASTBuilder implements INamedASTBuilder {
         record ClassDatasByMethodDataEntry(ClassData classData, MethodData methodData) {
         }
         final Map<MethodData, ClassData> classDatasByMethodData = asmData.classes().stream()
-                .flatMap(classData -> classData.node().methods.stream()
-                        .map(node -> new ClassDatasByMethodDataEntry(classData, new MethodData(classData, node))))
+                .flatMap(classData -> ClassDataUtils.methodsAsStream(classData)
+                        .map(methodData -> new ClassDatasByMethodDataEntry(classData, methodData)))
                 .collect(Collectors.toMap(ClassDatasByMethodDataEntry::methodData, ClassDatasByMethodDataEntry::classData));
-        final Map<ClassData, LinkedList<ClassData>> inheritanceData = buildInheritanceData(asmData.classes());
+        final Map<ClassData, List<ClassData>> inheritanceData = buildInheritanceData(asmData.classes());
 
         final Multimap<ClassData, ClassData> inheritanceVolumes = buildInheritanceVolumes(inheritanceData);
 
@@ -116,7 +120,7 @@ public class NamedASTBuilder implements INamedASTBuilder {
         return new NamedAST(classes.values());
     }
 
-    private Multimap<ClassData, ClassData> buildInheritanceVolumes(Map<ClassData, LinkedList<ClassData>> inheritanceData) {
+    private Multimap<ClassData, ClassData> buildInheritanceVolumes(Map<ClassData, List<ClassData>> inheritanceData) {
         Map<ClassData, Set<ClassData>> inheritanceVolumes = new HashMap<>();
         for (ClassData classData : inheritanceData.keySet()) {
             final Set<ClassData> volume = inheritanceVolumes.computeIfAbsent(classData, d -> Sets.newHashSet());
@@ -132,44 +136,20 @@ public class NamedASTBuilder implements INamedASTBuilder {
         return inheritanceVolumesByClass;
     }
 
-    private Map<ClassData, LinkedList<ClassData>> buildInheritanceData(final Collection<ClassData> classes) {
-        final Map<String, ClassData> classDatasByName = classes.stream()
-                .collect(Collectors.toMap(INameProvider.classes(), Function.identity()));
+    private Map<ClassData, List<ClassData>> buildInheritanceData(final Collection<ClassData> classes) {
+        final ClassHierarchyIndex<ClassData> hierarchy = ClassHierarchyIndex.create(
+                classes,
+                INameProvider.classes(),
+                classData -> classData.node().superName,
+                classData -> classData.node().interfaces);
 
         return classes.stream()
-                .collect(Collectors.toMap(Function.identity(), classData -> getInheritanceOf(classDatasByName, classData.node().name, Sets.newHashSet())));
-    }
-
-    private LinkedList<ClassData> getInheritanceOf(final Map<String, ClassData> classDatasByName, final String className, final Set<ClassData> superTypes) {
-        final ClassData classData = classDatasByName.get(className);
-        if (classData == null) {
-            return new LinkedList<>();
-        }
-
-        final LinkedList<ClassData> inheritance = new LinkedList<>();
-        superTypes.add(classData);
-        inheritance.add(classData);
-
-        final String superClassName = classData.node().superName;
-        if (superClassName != null) {
-            final LinkedList<ClassData> superInheritance = getInheritanceOf(classDatasByName, superClassName, superTypes);
-            inheritance.addAll(superInheritance);
-        }
-
-        final List<String> interfaces = classData.node().interfaces;
-        if (interfaces != null) {
-            for (String interfaceName : interfaces) {
-                final LinkedList<ClassData> superInheritance = getInheritanceOf(classDatasByName, interfaceName, superTypes);
-                inheritance.addAll(superInheritance);
-            }
-        }
-
-        return inheritance;
+                .collect(Collectors.toMap(Function.identity(), classData -> hierarchy.ancestorsOf(classData.node().name)));
     }
 
     private Map<MethodData, MethodData> buildForcedMethods(
             final Collection<MethodData> methods,
-            final Map<ClassData, LinkedList<ClassData>> classInheritanceData,
+            final Map<ClassData, List<ClassData>> classInheritanceData,
             final Map<MethodData, ClassData> classDatasByMethodData,
             final BiMap<MethodData, Integer> methodIds,
             final IMetadataAST metadataAST) {
@@ -200,13 +180,14 @@ public class NamedASTBuilder implements INamedASTBuilder {
 
     public Multimap<MethodData, MethodData> collectMethodOverrides(
             final Collection<MethodData> methods,
-            final Map<ClassData, LinkedList<ClassData>> classInheritanceData,
+            final Map<ClassData, List<ClassData>> classInheritanceData,
             final Map<MethodData, ClassData> classDatasByMethodData,
             final IMetadataAST metadataAST,
             final Map<MethodReference, MethodData> methodsByReference
     ) {
 
         final Multimap<MethodData, MethodData> overrides = HashMultimap.create();
+        final Map<ClassData, Map<String, MethodData>> methodsBySignatureByClass = new HashMap<>();
         methods.forEach(
                 methodData -> {
                     if (methodData.node().name.startsWith("<") || (methodData.node().access & (Opcodes.ACC_STATIC | Opcodes.ACC_PRIVATE)) != 0) {
@@ -214,7 +195,7 @@ public class NamedASTBuilder implements INamedASTBuilder {
                     }
 
                     final ClassData classData = classDatasByMethodData.get(methodData);
-                    collectMethodOverridesFromASMData(classInheritanceData, overrides, methodData, classData);
+                    collectMethodOverridesFromASMData(classInheritanceData, methodsBySignatureByClass, overrides, methodData, classData);
 
                     final IMetadataMethod methodInfo = getMetadataForMethod(metadataAST, methodData, classData);
                     if (methodInfo == null) {
@@ -231,17 +212,28 @@ public class NamedASTBuilder implements INamedASTBuilder {
     }
 
     private void collectMethodOverridesFromASMData(
-            final Map<ClassData, LinkedList<ClassData>> classInheritanceData,
+            final Map<ClassData, List<ClassData>> classInheritanceData,
+            final Map<ClassData, Map<String, MethodData>> methodsBySignatureByClass,
             final Multimap<MethodData, MethodData> overrides,
             final MethodData methodData,
             final ClassData classData) {
-        final LinkedList<ClassData> superTypes = classInheritanceData.getOrDefault(classData, new LinkedList<>());
-        if (!superTypes.isEmpty()) {
-            superTypes.forEach(superType -> superType.node().methods.stream()
-                    .filter(superMethodData -> !superMethodData.name.equals("<"))
-                    .filter(superMethodData -> superMethodData.name.equals(methodData.node().name) && superMethodData.desc.equals(methodData.node().desc))
-                    .forEach(superMethodData -> overrides.put(methodData, new MethodData(superType, superMethodData))));
-        }
+        final List<ClassData> superTypes = classInheritanceData.getOrDefault(classData, List.of());
+        final String signature = methodData.node().name + methodData.node().desc;
+        superTypes.forEach(superType -> {
+            final MethodData superMethodData = methodsBySignatureByClass.computeIfAbsent(superType, this::buildMethodsBySignature).get(signature);
+            if (superMethodData != null) {
+                overrides.put(methodData, superMethodData);
+            }
+        });
+    }
+
+    private Map<String, MethodData> buildMethodsBySignature(final ClassData classData) {
+        //The jvm does not allow two methods with the same name and descriptor in one class, so the signature is unique.
+        final Map<String, MethodData> methodsBySignature = new HashMap<>();
+        ClassDataUtils.methodsAsStream(classData)
+                .filter(methodData -> !methodData.node().name.equals("<"))
+                .forEach(methodData -> methodsBySignature.putIfAbsent(methodData.node().name + methodData.node().desc, methodData));
+        return methodsBySignature;
     }
 
     private IMetadataMethod getMetadataForMethod(final IMetadataAST metadataAST, final MethodData methodData, final ClassData classData) {
@@ -351,36 +343,40 @@ public class NamedASTBuilder implements INamedASTBuilder {
     public Set<Set<MethodData>> buildOverrideTrees(
             final Multimap<MethodData, MethodData> overrides
     ) {
-        final Set<MethodData> processedData = Sets.newHashSet();
-        final Set<Set<MethodData>> combinedTrees = Sets.newHashSet();
         final Map<MethodData, Collection<MethodData>> overrideBranchMap = overrides.asMap();
 
-        overrideBranchMap.keySet().forEach(
-                overriddenMethod -> {
-                    if (processedData.contains(overriddenMethod)) {
-                        return;
-                    }
+        //Give every method which takes part in an override a dense index, in the order in which they are encountered.
+        final Map<MethodData, Integer> indicesByMethod = new HashMap<>();
+        final List<MethodData> methodsByIndex = new ArrayList<>();
+        final ToIntFunction<MethodData> indexOf = methodData -> indicesByMethod.computeIfAbsent(methodData, d -> {
+            methodsByIndex.add(d);
+            return methodsByIndex.size() - 1;
+        });
 
-                    if (overrideBranchMap.get(overriddenMethod).size() == 1) {
-                        if (overrideBranchMap.get(overriddenMethod).contains(overriddenMethod)) {
-                            return;
-                        }
-                    }
+        record OverrideBranch(int overridingMethod, int[] overriddenMethods) {}
+        final List<OverrideBranch> branches = new ArrayList<>(overrideBranchMap.size());
+        overrideBranchMap.forEach((overridingMethod, overriddenMethods) -> {
+            //A method which only overrides itself does not form a tree.
+            if (overriddenMethods.size() == 1 && overriddenMethods.contains(overridingMethod)) {
+                return;
+            }
 
-                    processedData.add(overriddenMethod);
-                    final Set<MethodData> workingSet = Sets.newHashSet(overrides.get(overriddenMethod));
-                    for (final Collection<MethodData> overrideBranch : overrideBranchMap.values()) {
-                        if (overrideBranch.stream().anyMatch(workingSet::contains)) {
-                            workingSet.addAll(overrideBranch);
-                        }
-                    }
+            branches.add(new OverrideBranch(indexOf.applyAsInt(overridingMethod), overriddenMethods.stream().mapToInt(indexOf).toArray()));
+        });
 
-                    combinedTrees.add(workingSet);
-                    processedData.addAll(workingSet);
-                }
-        );
+        final UnionFind trees = new UnionFind(methodsByIndex.size());
+        for (final OverrideBranch branch : branches) {
+            for (final int overriddenMethod : branch.overriddenMethods()) {
+                trees.union(branch.overridingMethod(), overriddenMethod);
+            }
+        }
+
+        final Map<Integer, Set<MethodData>> combinedTreesByRoot = new HashMap<>();
+        for (int index = 0; index < methodsByIndex.size(); index++) {
+            combinedTreesByRoot.computeIfAbsent(trees.find(index), root -> Sets.newHashSet()).add(methodsByIndex.get(index));
+        }
 
-        return combinedTrees;
+        return Sets.newHashSet(combinedTreesByRoot.values());
     }
 
     public Map<MethodData, MethodData> determineIdsPerOverrideTree(
@@ -18,6 +18,7 @@ import com.ldtteam.jam.spi.ast.named.builder.INamedMethodBuilder;
 import com.ldtteam.jam.spi.name.INameProvider;
 import com.ldtteam.jam.spi.name.INotObfuscatedFilter;
 import com.ldtteam.jam.spi.name.IRemapper;
+import com.ldtteam.jam.util.ClassDataUtils;
 import com.ldtteam.jam.util.MethodDataUtils;
 import com.ldtteam.jam.util.NamingUtils;
 
@@ -86,10 +87,10 @@ public class NamedClassBuilder implements INamedClassBuilder
 
         final Map<String, String> identifiedFieldNamesByOriginalFieldName = Maps.newHashMap();
         final Collection<INamedField> fields = new ArrayList<>();
-        classData.node().fields.forEach(fieldNode -> {
+        ClassDataUtils.fieldsAsStream(classData).forEach(fieldData -> {
             final INamedField field = namedFieldBuilder.build(
                     classData,
-                    new FieldData(classData, fieldNode),
+                    fieldData,
                     classMetadata,
                     inheritanceVolumes,
                     fieldMappings,
@@ -101,10 +102,10 @@ public class NamedClassBuilder implements INamedClassBuilder
         });
 
         final Collection<INamedMethod> methods = new ArrayList<>();
-        classData.node().methods.forEach(methodNode -> {
+        ClassDataUtils.methodsAsStream(classData).forEach(methodData -> {
             final INamedMethod method = namedMethodBuilder.build(
                     classData,
-                    new MethodData(classData, methodNode),
+                    methodData,
                     classMetadata,
                     classDatasByAstName,
                     inheritanceVolumes,
@@ -142,8 +143,7 @@ public class NamedClassBuilder implements INamedClassBuilder
     }
 
     private boolean isNotObfuscated(ClassData classData, Map<MethodData, MethodData> rootMethodsByOverride) {
-        return classNotObfuscatedFilter.isNotObfuscated(classData) || classData.node().methods.stream().anyMatch(methodNode -> {
-            final MethodData data = new MethodData(classData, methodNode);
+        return classNotObfuscatedFilter.isNotObfuscated(classData) || ClassDataUtils.methodsAsStream(classData).anyMatch(data -> {
             final MethodData rootMethod = rootMethodsByOverride.getOrDefault(data, data);
             return methodNotObfuscatedFilter.isNotObfuscated(rootMethod);
         });
@@ -18,6 +18,7 @@ import com.ldtteam.jam.spi.ast.named.builder.INamedParameterBuilder;
 import com.ldtteam.jam.spi.name.INameProvider;
 import com.ldtteam.jam.spi.name.INotObfuscatedFilter;
 import com.ldtteam.jam.spi.name.IRemapper;
+import com.ldtteam.jam.util.ClassDataUtils;
 import com.ldtteam.jam.util.MethodDataUtils;
 
 import java.util.*;
@@ -128,10 +129,9 @@ public class NamedMethodBuilder implements INamedMethodBuilder {
                     break;
                 } else { // If it is, then it should have been assigned an ID earlier so use it's id.
                     final ClassData overrideClassData = classDatasByAstName.get(override.getOwner());
-                    final MethodData overriddenMethod = overrideClassData.node().methods.stream()
-                            .filter(candidate -> isValidOverriddenMethod(classDatasByAstName, override, new MethodData(overrideClassData, candidate)))
+                    final MethodData overriddenMethod = ClassDataUtils.methodsAsStream(overrideClassData)
+                            .filter(candidate -> isValidOverriddenMethod(classDatasByAstName, override, candidate))
                             .findFirst()
-                            .map(methodNode -> new MethodData(overrideClassData, methodNode))
                             .orElse(null);
 
                     if (overriddenMethod != null) {
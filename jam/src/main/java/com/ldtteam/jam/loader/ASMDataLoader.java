@@ -6,8 +6,9 @@ import com.ldtteam.jam.spi.asm.FieldData;
 import com.ldtteam.jam.spi.asm.MethodData;
 import com.ldtteam.jam.spi.asm.ParameterData;
 import com.ldtteam.jam.spi.configuration.InputConfiguration;
+import com.ldtteam.jam.spi.configuration.LoadingConfiguration;
 import com.ldtteam.jam.spi.name.IRemapper;
-import com.ldtteam.jam.util.FilterUtils;
+import com.ldtteam.jam.util.ClassDataUtils;
 import com.ldtteam.jam.util.MethodDataUtils;
 import com.ldtteam.jam.util.SetsUtil;
 import com.machinezoo.noexception.Exceptions;
@@ -19,18 +20,20 @@ import org.objectweb.asm.tree.ParameterNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.InputStream;
-import java.nio.file.*;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 /**
  * Loads ASM data from a given input configuration.
  * Primary reason for this system is to collect information on the bytecode contained
  * in the relevant jar, and handle remapping stuff to a common runtime naming scheme.
  */
-@SuppressWarnings("resource")
 public final class ASMDataLoader
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(ASMDataLoader.class);
@@ -40,164 +43,280 @@ public final class ASMDataLoader
         throw new IllegalStateException("Can not instantiate an instance of: ASMDataLoader. This is a utility class");
     }
 
+    /**
+     * Loads the ASM data of all the given input configurations.
+     * The inputs are independent of each other, so up to the configured amount of inputs is loaded concurrently.
+     *
+     * @param inputConfigurations The input configurations to load the bytecode data from.
+     * @param loadingConfiguration The loading configuration which indicates how the data is loaded.
+     * @return The loaded ASM data, in the same order as the input configurations.
+     */
+    public static List<LoadedASMData> load(final List<InputConfiguration> inputConfigurations, final LoadingConfiguration loadingConfiguration)
+    {
+        final AtomicInteger loadedInputCount = new AtomicInteger();
+        final Function<InputConfiguration, LoadedASMData> inputLoader = inputConfiguration -> {
+            LOGGER.info("Loading input: {}", inputConfiguration.name());
+            final long startTime = System.currentTimeMillis();
+
+            //The newest input is the target of every transition, so the bodies of its methods are always needed.
+            final boolean isNewestInput = inputConfiguration == inputConfigurations.get(inputConfigurations.size() - 1);
+            final LoadedASMData loadedData = load(inputConfiguration, loadingConfiguration, loadingConfiguration.lazyMethodBodies() && !isNewestInput);
+
+            LOGGER.info("Loaded input: {} with {} classes in {}ms ({}/{})",
+              inputConfiguration.name(),
+              loadedData.classes().size(),
+              System.currentTimeMillis() - startTime,
+              loadedInputCount.incrementAndGet(),
+              inputConfigurations.size());
+            return loadedData;
+        };
+
+        final int parallelism = Math.min(loadingConfiguration.inputLoadingParallelism(), inputConfigurations.size());
+        if (parallelism <= 1)
+        {
+            return inputConfigurations.stream().map(inputLoader).toList();
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try
+        {
+            final List<Future<LoadedASMData>> loadingInputs = inputConfigurations.stream()
+              .map(inputConfiguration -> executor.submit(() -> inputLoader.apply(inputConfiguration)))
+              .toList();
+
+            return loadingInputs.stream()
+              .map(loadingInput -> Exceptions.sneak().get(loadingInput::get))
+              .toList();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Loads the ASM data from the input configurations jar and naming scheme.
+     * The classes are parsed sequentially.
      *
      * @param inputConfiguration The input configuration to load the bytecode data from.
      * @return The loaded ASM data.
      */
     public static LoadedASMData load(final InputConfiguration inputConfiguration)
     {
-        //Collect all classes.
-        final Set<ClassData> classes = loadClasses(inputConfiguration);
+        return load(inputConfiguration, new LoadingConfiguration(1, 1, Optional.empty(), false));
+    }
+
+    /**
+     * Loads the ASM data from the input configurations jar and naming scheme.
+     * The classes are parsed with the parallelism configured in the loading configuration,
+     * the loaded data is identical to the sequentially loaded data regardless of the parallelism.
+     *
+     * @param inputConfiguration The input configuration to load the bytecode data from.
+     * @param loadingConfiguration The loading configuration which indicates how the data is loaded.
+     * @return The loaded ASM data.
+     */
+    public static LoadedASMData load(final InputConfiguration inputConfiguration, final LoadingConfiguration loadingConfiguration)
+    {
+        return load(inputConfiguration, loadingConfiguration, loadingConfiguration.lazyMethodBodies());
+    }
+
+    private static LoadedASMData load(final InputConfiguration inputConfiguration, final LoadingConfiguration loadingConfiguration, final boolean lazyMethodBodies)
+    {
+        //The key is only needed, and thus only calculated, when something is cached.
+        final Optional<String> cacheKey = loadingConfiguration.cacheDirectory()
+          .flatMap(cacheDirectory -> ClassDataCache.inputKey(inputConfiguration.path(), inputConfiguration.remapper().orElse(null)));
+
+        //Collect all classes, and number them and their members.
+        final List<ClassData> indexedClasses = ClassDataUtils.index(
+          loadClasses(inputConfiguration, loadingConfiguration, cacheKey, lazyMethodBodies).stream()
+            .map(ClassData::node)
+            .toList()
+        );
 
         //Grab the method datas from them
-        final Set<MethodData> methods = classes.stream()
-          .flatMap(classData -> classData.node().methods.stream()
-                  .map(node -> new MethodData(classData, node)))
-          .collect(SetsUtil.methods());
+        final List<MethodData> indexedMethods = indexedClasses.stream()
+          .flatMap(ClassDataUtils::methodsAsStream)
+          .toList();
 
         //And the field datas from them
-        final Set<FieldData> fields = classes.stream()
-          .flatMap(classData -> classData.node().fields.stream()
-                  .map(node -> new FieldData(classData, node)))
-          .collect(SetsUtil.fields());
+        final List<FieldData> indexedFields = indexedClasses.stream()
+          .flatMap(ClassDataUtils::fieldsAsStream)
+          .toList();
 
         //Grab the parameter datas from the methods
-        final Set<ParameterData> parameters = methods.stream()
-                .flatMap(MethodDataUtils::parametersAsStream)
-                .collect(SetsUtil.parameters());
+        final List<ParameterData> indexedParameters = indexedMethods.stream()
+          .flatMap(MethodDataUtils::parametersAsStream)
+          .toList();
+
+        final Set<ClassData> classes = indexedClasses.stream().collect(SetsUtil.classes());
+        final Set<MethodData> methods = indexedMethods.stream().collect(SetsUtil.methods());
+        final Set<FieldData> fields = indexedFields.stream().collect(SetsUtil.fields());
+        final Set<ParameterData> parameters = indexedParameters.stream().collect(SetsUtil.parameters());
 
         //Collect all of them together.
-        return new LoadedASMData(inputConfiguration.name(), classes, methods, fields, parameters);
+        return new LoadedASMData(
+          inputConfiguration.name(),
+          classes,
+          methods,
+          fields,
+          parameters,
+          new ASMDataOrdinals(indexedClasses, indexedMethods, indexedFields, indexedParameters),
+          cacheKey
+        );
     }
 
     /**
      * Loads the classes in the given input configuration from the jar, performing the remapping if
      * the input configuration has a remapper.
+     * If a cache directory is configured, the remapped classes are loaded from the cache when possible, and written to it
+     * otherwise.
      *
      * @param inputConfiguration The input configuration to pull the jar path, and potentially a remapper from.
+     * @param loadingConfiguration The loading configuration which indicates how the data is loaded.
+     * @param cacheKey The key of the input in the cache, if the input can be cached.
+     * @param lazyMethodBodies Indicates if the method bodies are only loaded when they are first needed.
      * @return The ASM class data data.
      */
-    private static Set<ClassData> loadClasses(final InputConfiguration inputConfiguration)
+    private static Set<ClassData> loadClasses(
+      final InputConfiguration inputConfiguration,
+      final LoadingConfiguration loadingConfiguration,
+      final Optional<String> cacheKey,
+      final boolean lazyMethodBodies)
     {
-        //Grab and pass along.
-        return loadClasses(inputConfiguration.path(), inputConfiguration.remapper().orElse(null));
+        final Path filePath = inputConfiguration.path();
+        final IRemapper remapper = inputConfiguration.remapper().orElse(null);
+        final int parallelism = loadingConfiguration.classLoadingParallelism();
+
+        final Optional<Path> cacheFile = cacheKey.map(key -> ClassDataCache.locate(loadingConfiguration.cacheDirectory().orElseThrow(), key));
+        final Optional<IClassFileSource> cachedSource = cacheFile.flatMap(ClassDataCache::open);
+        if (cachedSource.isPresent())
+        {
+            LOGGER.debug("Loading the classes of: {} from the cache: {}", inputConfiguration.name(), cacheFile.get());
+
+            //The cached classes are already remapped.
+            return loadClasses(cachedSource.get(), createLoader(null, lazyMethodBodies), remapper, parallelism);
+        }
+
+        final Function<byte[], ClassData> loader = createLoader(remapper, lazyMethodBodies);
+
+        final Set<ClassData> classes = loadClasses(IClassFileSource.open(filePath), loader, remapper, parallelism);
+        cacheFile.ifPresent(file -> ClassDataCache.write(file, classes));
+        return classes;
     }
 
-    private static Set<ClassData> loadClasses(final Path filePath, @Nullable final IRemapper remapperOptional)
+    private static Set<ClassData> loadClasses(
+      final IClassFileSource classFileSource,
+      final Function<byte[], ClassData> loader,
+      @Nullable final IRemapper remapperOptional,
+      final int parallelism)
     {
-        final Path root = getPackageRoot(filePath);
-        final Set<ClassData> classesInTarget = new TreeSet<>(Comparator.comparing(classData -> classData.node().name));
-
-        final Function<Path, ClassData> loader = remapperOptional == null ?
-                                                   ASMDataLoader::loadClass :
-                                                                              path -> loadClass(path, remapperOptional);
+        final Set<ClassData> classesInTarget = new TreeSet<>(SetsUtil.CLASS_ORDER);
 
         final Optional<IRemapper> remappedHandle = Optional.ofNullable(remapperOptional);
 
-        walk(root)
-          .filter(FilterUtils::isClassFile)
-          .map(loader)
-          .peek(classData -> classData.node().methods.forEach(methodData -> {
-              if (methodData.parameters == null)
-              {
-                  final Type methodDescriptor = Type.getMethodType(methodData.desc);
-                  if (methodDescriptor.getArgumentTypes().length > 0)
-                  {
-                      methodData.parameters = new LinkedList<>();
-                      Type[] argumentTypes = methodDescriptor.getArgumentTypes();
-                      for (int i = 0, argumentTypesLength = argumentTypes.length; i < argumentTypesLength; i++)
-                      {
-                          final int index = i;
-
-                          methodData.parameters.add(
-                            new ParameterNode(
-                              remappedHandle
-                                .flatMap(remapper -> remapper.remapParameter(
-                                  classData.node().name,
-                                  methodData.name,
-                                  methodData.desc,
-                                  "parameter " + index,
-                                  index
-                                ))
-                                .orElse("parameter " + index),
-                              0)
-                          );
-                      }
-                  }
-              }
-          }))
-          .forEach(classesInTarget::add);
+        try (final IClassFileSource source = classFileSource)
+        {
+            final List<String> classFiles = source.classFiles();
+
+            if (parallelism <= 1)
+            {
+                classFiles.stream()
+                  .map(source::read)
+                  .map(loader)
+                  .peek(classData -> createMissingParameters(classData, remappedHandle))
+                  .forEach(classesInTarget::add);
+
+                return classesInTarget;
+            }
+
+            //The class files are collected upfront, this keeps their encounter order stable, which in turn guarantees
+            //that the set is filled in the same order as the sequential variant does.
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try
+            {
+                final List<ClassData> loadedClasses = Exceptions.sneak().get(() -> pool.submit(
+                  () -> classFiles.parallelStream()
+                          .map(source::read)
+                          .map(loader)
+                          .peek(classData -> createMissingParameters(classData, remappedHandle))
+                          .toList()
+                ).get());
+
+                classesInTarget.addAll(loadedClasses);
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
 
         return classesInTarget;
     }
 
-    private static Path getPackageRoot(final Path filePath)
+    private static void createMissingParameters(final ClassData classData, final Optional<IRemapper> remappedHandle)
     {
-        return Exceptions.log(LOGGER).get(
-          Exceptions.sneak().supplier(
-            () -> {
-                if (filePath.getFileName().toString().endsWith(".jar"))
+        classData.node().methods.forEach(methodData -> {
+            if (methodData.parameters == null)
+            {
+                final Type methodDescriptor = Type.getMethodType(methodData.desc);
+                if (methodDescriptor.getArgumentTypes().length > 0)
                 {
-                    return FileSystems.newFileSystem(filePath, (ClassLoader) null).getPath("/");
-                }
+                    methodData.parameters = new LinkedList<>();
+                    Type[] argumentTypes = methodDescriptor.getArgumentTypes();
+                    for (int i = 0, argumentTypesLength = argumentTypes.length; i < argumentTypesLength; i++)
+                    {
+                        final int index = i;
 
-                return filePath;
+                        methodData.parameters.add(
+                          new ParameterNode(
+                            remappedHandle
+                              .flatMap(remapper -> remapper.remapParameter(
+                                classData.node().name,
+                                methodData.name,
+                                methodData.desc,
+                                "parameter " + index,
+                                index
+                              ))
+                              .orElse("parameter " + index),
+                            0)
+                        );
+                    }
+                }
             }
-          )
-        ).orElse(filePath);
+        });
+    }
+
+    private static Function<byte[], ClassData> createLoader(@Nullable final IRemapper remapper, final boolean lazyMethodBodies)
+    {
+        if (lazyMethodBodies)
+        {
+            return classBytes -> new ClassData(LazyClassNode.read(classBytes, remapper, ClassReader.SKIP_DEBUG | ClassReader.EXPAND_FRAMES));
+        }
+
+        return remapper == null ?
+                 ASMDataLoader::loadClass :
+                                            classBytes -> loadClass(classBytes, remapper);
     }
 
-    private static ClassData loadClass(final Path classFilePath)
+    private static ClassData loadClass(final byte[] classBytes)
     {
-        final InputStream stream = createInputStream(classFilePath);
-        final ClassReader classReader = createClassReader(stream);
+        final ClassReader classReader = new ClassReader(classBytes);
         final ClassNode classNode = new ClassNode();
 
         classReader.accept(classNode, ClassReader.SKIP_DEBUG | ClassReader.EXPAND_FRAMES);
 
-        closeStream(stream);
-
         return new ClassData(classNode);
     }
 
-    private static ClassData loadClass(final Path classFilePath, final IRemapper remapper)
+    private static ClassData loadClass(final byte[] classBytes, final IRemapper remapper)
     {
-        final InputStream stream = createInputStream(classFilePath);
-        final ClassReader classReader = createClassReader(stream);
+        final ClassReader classReader = new ClassReader(classBytes);
         final ClassNode classNode = new ClassNode();
 
         final EnhancedClassRemapper classRemapper = new EnhancedClassRemapper(classNode, remapper);
 
         classReader.accept(classRemapper, ClassReader.SKIP_DEBUG | ClassReader.EXPAND_FRAMES);
 
-        closeStream(stream);
-
         return new ClassData(classNode);
     }
-
-    private static Stream<Path> walk(final Path path)
-    {
-        return Exceptions.log(LOGGER).get(
-          Exceptions.sneak().supplier(
-            () -> Files.walk(path, FileVisitOption.FOLLOW_LINKS)
-          )
-        ).orElse(Stream.empty());
-    }
-
-    private static InputStream createInputStream(final Path classFilePath)
-    {
-        return Exceptions.sneak().get(() -> Files.newInputStream(classFilePath, StandardOpenOption.READ));
-    }
-
-    private static ClassReader createClassReader(final InputStream inputStream)
-    {
-        return Exceptions.sneak().get(() -> new ClassReader(inputStream));
-    }
-
-    private static void closeStream(final InputStream stream)
-    {
-        Exceptions.sneak().run(stream::close);
-    }
 }
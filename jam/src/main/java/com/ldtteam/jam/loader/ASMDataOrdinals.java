@@ -0,0 +1,16 @@
+package com.ldtteam.jam.loader;
+
+import com.ldtteam.jam.spi.asm.ClassData;
+import com.ldtteam.jam.spi.asm.FieldData;
+import com.ldtteam.jam.spi.asm.MethodData;
+import com.ldtteam.jam.spi.asm.ParameterData;
+
+import java.util.List;
+
+/**
+ * Gives access to the loaded data of a version by ordinal.
+ * The element at a given index of each list has that index as its ordinal.
+ */
+public record ASMDataOrdinals(List<ClassData> classes, List<MethodData> methods, List<FieldData> fields, List<ParameterData> parameters)
+{
+}
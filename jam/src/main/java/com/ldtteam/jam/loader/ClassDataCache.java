@@ -0,0 +1,215 @@
+package com.ldtteam.jam.loader;
+
+import com.google.common.hash.Hashing;
+import com.ldtteam.jam.spi.asm.ClassData;
+import com.ldtteam.jam.spi.name.IRemapper;
+import com.machinezoo.noexception.Exceptions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * A content addressed cache of loaded and remapped classes.
+ * The cache stores the remapped bytes of all classes of an input, keyed by the hash of the input jar and the
+ * cache key of the remapper which was used, so that loading the same input again can skip remapping entirely.
+ */
+final class ClassDataCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassDataCache.class);
+
+    private static final int    MAGIC          = 0x4A414D43;
+    static final int            FORMAT_VERSION = 1;
+    private static final String CACHE_FILE_EXTENSION = ".classes";
+
+    private ClassDataCache()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: ClassDataCache. This is a utility class");
+    }
+
+    /**
+     * Determines the cache file for the input with the given key.
+     *
+     * @param cacheDirectory The cache directory.
+     * @param inputKey The key of the input, as determined by {@link #inputKey(Path, IRemapper)}.
+     * @return The cache file for the input.
+     */
+    public static Path locate(final Path cacheDirectory, final String inputKey)
+    {
+        return cacheDirectory.resolve(inputKey + CACHE_FILE_EXTENSION);
+    }
+
+    /**
+     * Determines a key which identifies the classes of the given input after they are loaded.
+     * The key changes when either the input jar or the remapper changes.
+     *
+     * @param inputPath The path of the input jar.
+     * @param remapper The remapper used to load the input, if any.
+     * @return The key of the input, or empty if the remapper does not provide a cache key.
+     */
+    public static Optional<String> inputKey(final Path inputPath, @Nullable final IRemapper remapper)
+    {
+        return inputKey(inputPath, remapper, FORMAT_VERSION);
+    }
+
+    /**
+     * Determines the key of the given input for the given version of the cache file format.
+     * Only the tests need to pass a different format version, to check that a format change invalidates the cache.
+     *
+     * @param inputPath The path of the input jar.
+     * @param remapper The remapper used to load the input, if any.
+     * @param formatVersion The version of the cache file format.
+     * @return The key of the input, or empty if the remapper does not provide a cache key.
+     */
+    static Optional<String> inputKey(final Path inputPath, @Nullable final IRemapper remapper, final int formatVersion)
+    {
+        if (!Files.isRegularFile(inputPath))
+        {
+            return Optional.empty();
+        }
+
+        final Optional<String> remapperKey = remapper == null ? Optional.of("none") : remapper.cacheKey();
+        if (remapperKey.isEmpty())
+        {
+            LOGGER.debug("The remapper of: {} does not provide a cache key. Its classes will not be cached.", inputPath);
+            return Optional.empty();
+        }
+
+        final String inputHash = Exceptions.sneak().get(() -> com.google.common.io.Files.asByteSource(inputPath.toFile()).hash(Hashing.sha256()).toString());
+        return Optional.of(Hashing.sha256()
+          .newHasher()
+          .putString(inputHash, StandardCharsets.UTF_8)
+          .putString(remapperKey.get(), StandardCharsets.UTF_8)
+          .putInt(formatVersion)
+          .hash()
+          .toString());
+    }
+
+    /**
+     * Opens the given cache file as a class file source.
+     *
+     * @param cacheFile The cache file to open.
+     * @return The class file source containing the cached classes, or empty if the cache file is missing or invalid.
+     */
+    public static Optional<IClassFileSource> open(final Path cacheFile)
+    {
+        if (!Files.isRegularFile(cacheFile))
+        {
+            return Optional.empty();
+        }
+
+        try (final DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile))))
+        {
+            if (stream.readInt() != MAGIC || stream.readInt() != FORMAT_VERSION)
+            {
+                LOGGER.warn("The class cache file: {} has an unknown format. Ignoring it.", cacheFile);
+                return Optional.empty();
+            }
+
+            final int classCount = stream.readInt();
+            final Map<String, byte[]> classes = new LinkedHashMap<>(classCount * 2);
+            for (int i = 0; i < classCount; i++)
+            {
+                final String name = stream.readUTF();
+                final byte[] classBytes = new byte[stream.readInt()];
+                stream.readFully(classBytes);
+                classes.put(name, classBytes);
+            }
+
+            return Optional.of(new CachedClassFileSource(classes));
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Failed to read the class cache file: {}. Ignoring it.", cacheFile, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the given classes to the cache file.
+     * The file is written next to its target and then moved in place, so that concurrent runs never observe a partial
+     * cache file.
+     *
+     * @param cacheFile The cache file to write.
+     * @param classes The classes to write.
+     */
+    public static void write(final Path cacheFile, final Collection<ClassData> classes)
+    {
+        try
+        {
+            Files.createDirectories(cacheFile.getParent());
+            final Path temporaryFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (final DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile))))
+            {
+                stream.writeInt(MAGIC);
+                stream.writeInt(FORMAT_VERSION);
+                stream.writeInt(classes.size());
+                for (final ClassData classData : classes)
+                {
+                    final byte[] classBytes = toByteArray(classData);
+
+                    stream.writeUTF(classData.node().name + ".class");
+                    stream.writeInt(classBytes.length);
+                    stream.write(classBytes);
+                }
+            }
+
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Failed to write the class cache file: {}", cacheFile, e);
+        }
+    }
+
+    private static byte[] toByteArray(final ClassData classData)
+    {
+        //Lazy class nodes do not hold their method bodies, they know how to write the complete class though.
+        if (classData.node() instanceof LazyClassNode lazyClassNode)
+        {
+            return lazyClassNode.toByteArray();
+        }
+
+        final ClassWriter writer = new ClassWriter(0);
+        classData.node().accept(writer);
+        return writer.toByteArray();
+    }
+
+    private static final class CachedClassFileSource implements IClassFileSource
+    {
+        private final Map<String, byte[]> classes;
+
+        private CachedClassFileSource(final Map<String, byte[]> classes) {this.classes = classes;}
+
+        @Override
+        public List<String> classFiles()
+        {
+            return List.copyOf(classes.keySet());
+        }
+
+        @Override
+        public byte[] read(final String classFile)
+        {
+            final byte[] classBytes = classes.get(classFile);
+            if (classBytes == null)
+            {
+                throw new IllegalArgumentException("The class cache does not contain: " + classFile);
+            }
+
+            return classBytes;
+        }
+
+        @Override
+        public void close()
+        {
+            //Noop, the cache file is read completely when it is opened.
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ldtteam.jam.loader;
+
+import com.ldtteam.jam.util.FilterUtils;
+import com.machinezoo.noexception.Exceptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A class file source which reads the class files from a directory tree.
+ */
+final class DirectoryClassFileSource implements IClassFileSource
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryClassFileSource.class);
+
+    public static IClassFileSource open(final Path directory)
+    {
+        final List<String> classFiles;
+        try (final Stream<Path> files = walk(directory))
+        {
+            classFiles = files
+              .filter(FilterUtils::isClassFile)
+              .map(Path::toString)
+              .toList();
+        }
+
+        return new DirectoryClassFileSource(classFiles);
+    }
+
+    public static IClassFileSource empty()
+    {
+        return new DirectoryClassFileSource(Collections.emptyList());
+    }
+
+    private final List<String> classFiles;
+
+    private DirectoryClassFileSource(final List<String> classFiles) {this.classFiles = classFiles;}
+
+    @Override
+    public List<String> classFiles()
+    {
+        return classFiles;
+    }
+
+    @Override
+    public byte[] read(final String classFile)
+    {
+        return Exceptions.sneak().get(() -> Files.readAllBytes(Path.of(classFile)));
+    }
+
+    @Override
+    public void close()
+    {
+        //Noop, files are only opened while they are read.
+    }
+
+    private static Stream<Path> walk(final Path path)
+    {
+        return Exceptions.log(LOGGER).get(
+          Exceptions.sneak().supplier(
+            () -> Files.walk(path, FileVisitOption.FOLLOW_LINKS)
+          )
+        ).orElse(Stream.empty());
+    }
+}
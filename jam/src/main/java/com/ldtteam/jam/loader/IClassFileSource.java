@@ -0,0 +1,47 @@
+package com.ldtteam.jam.loader;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Represents a source of class files, like a jar or a directory.
+ * The source holds on to its underlying file handles until it is closed.
+ */
+interface IClassFileSource extends Closeable
+{
+    /**
+     * Opens the class file source for the given path.
+     * Paths which point to a jar are read as a zip archive, any other path is treated as a directory.
+     *
+     * @param path The path to open.
+     * @return The class file source for the path.
+     */
+    static IClassFileSource open(final Path path)
+    {
+        if (path.getFileName().toString().endsWith(".jar"))
+        {
+            return JarClassFileSource.open(path);
+        }
+
+        return DirectoryClassFileSource.open(path);
+    }
+
+    /**
+     * The names of the class files contained in this source.
+     *
+     * @return The names of the class files.
+     */
+    List<String> classFiles();
+
+    /**
+     * Reads the contents of the class file with the given name.
+     *
+     * @param classFile The name of the class file, as returned by {@link #classFiles()}.
+     * @return The bytes of the class file.
+     */
+    byte[] read(final String classFile);
+
+    @Override
+    void close();
+}
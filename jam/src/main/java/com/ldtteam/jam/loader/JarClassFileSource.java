@@ -0,0 +1,78 @@
+package com.ldtteam.jam.loader;
+
+import com.machinezoo.noexception.Exceptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A class file source which reads the class files directly from the central directory of a jar.
+ * Each class file is read into a byte array of exactly the size recorded in the central directory.
+ */
+final class JarClassFileSource implements IClassFileSource
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(JarClassFileSource.class);
+
+    public static IClassFileSource open(final Path jar)
+    {
+        return Exceptions.log(LOGGER).get(
+          Exceptions.sneak().supplier(
+            () -> (IClassFileSource) new JarClassFileSource(new ZipFile(jar.toFile()))
+          )
+        ).orElseGet(DirectoryClassFileSource::empty);
+    }
+
+    private final ZipFile zipFile;
+
+    private JarClassFileSource(final ZipFile zipFile) {this.zipFile = zipFile;}
+
+    @Override
+    public List<String> classFiles()
+    {
+        return zipFile.stream()
+          .filter(entry -> !entry.isDirectory())
+          .map(ZipEntry::getName)
+          .filter(name -> name.endsWith(".class"))
+          .toList();
+    }
+
+    @Override
+    public byte[] read(final String classFile)
+    {
+        final ZipEntry entry = zipFile.getEntry(classFile);
+        if (entry == null)
+        {
+            throw new IllegalArgumentException("The jar: " + zipFile.getName() + " does not contain: " + classFile);
+        }
+
+        return Exceptions.sneak().get(() -> {
+            try (final InputStream stream = zipFile.getInputStream(entry))
+            {
+                final long size = entry.getSize();
+                if (size < 0 || size > Integer.MAX_VALUE)
+                {
+                    return stream.readAllBytes();
+                }
+
+                return stream.readNBytes((int) size);
+            }
+        });
+    }
+
+    @Override
+    public void close()
+    {
+        Exceptions.sneak().run(zipFile::close);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "JarClassFileSource{" + zipFile.getName() + '}';
+    }
+}
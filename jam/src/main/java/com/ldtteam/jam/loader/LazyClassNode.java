@@ -0,0 +1,111 @@
+package com.ldtteam.jam.loader;
+
+import com.ldtteam.jam.rename.EnhancedClassRemapper;
+import com.ldtteam.jam.spi.asm.ILazyClassNode;
+import com.ldtteam.jam.spi.name.IRemapper;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class node which only reads the signatures of the class when it is loaded.
+ * The body of a method is read from the retained class bytes, and remapped, the first time it is requested.
+ */
+public final class LazyClassNode extends ClassNode implements ILazyClassNode
+{
+    public static LazyClassNode read(final byte[] classBytes, @Nullable final IRemapper remapper, final int parsingOptions)
+    {
+        final ClassReader classReader = new ClassReader(classBytes);
+        final LazyClassNode classNode = new LazyClassNode(classReader, remapper, parsingOptions);
+
+        final ClassVisitor visitor = remapper == null ? classNode : new EnhancedClassRemapper(classNode, remapper);
+        classReader.accept(visitor, parsingOptions | ClassReader.SKIP_CODE);
+
+        return classNode;
+    }
+
+    private final ClassReader classReader;
+    @Nullable
+    private final IRemapper remapper;
+    private final int parsingOptions;
+    private final Set<MethodNode> materializedMethods = ConcurrentHashMap.newKeySet();
+
+    private LazyClassNode(final ClassReader classReader, @Nullable final IRemapper remapper, final int parsingOptions)
+    {
+        super(Opcodes.ASM9);
+        this.classReader = classReader;
+        this.remapper = remapper;
+        this.parsingOptions = parsingOptions;
+    }
+
+    @Override
+    public void materialize(final MethodNode methodNode)
+    {
+        if (materializedMethods.contains(methodNode))
+        {
+            return;
+        }
+
+        synchronized (methodNode)
+        {
+            if (materializedMethods.contains(methodNode))
+            {
+                return;
+            }
+
+            final int methodIndex = methods.indexOf(methodNode);
+            if (methodIndex < 0)
+            {
+                throw new IllegalArgumentException("The method: " + methodNode.name + methodNode.desc + " is not part of the class: " + name);
+            }
+
+            final ClassNode loadedClassNode = new ClassNode(Opcodes.ASM9)
+            {
+                private int visitedMethodCount = 0;
+
+                @Override
+                public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature, final String[] exceptions)
+                {
+                    //Returning null for all other methods makes the reader skip their bodies entirely.
+                    return visitedMethodCount++ == methodIndex ? super.visitMethod(access, name, descriptor, signature, exceptions) : null;
+                }
+            };
+
+            final ClassVisitor visitor = remapper == null ? loadedClassNode : new EnhancedClassRemapper(loadedClassNode, remapper);
+            classReader.accept(visitor, parsingOptions);
+
+            final MethodNode loadedMethodNode = loadedClassNode.methods.get(0);
+
+            methodNode.instructions = loadedMethodNode.instructions;
+            methodNode.tryCatchBlocks = loadedMethodNode.tryCatchBlocks;
+            methodNode.localVariables = loadedMethodNode.localVariables;
+            methodNode.visibleLocalVariableAnnotations = loadedMethodNode.visibleLocalVariableAnnotations;
+            methodNode.invisibleLocalVariableAnnotations = loadedMethodNode.invisibleLocalVariableAnnotations;
+            methodNode.maxStack = loadedMethodNode.maxStack;
+            methodNode.maxLocals = loadedMethodNode.maxLocals;
+
+            materializedMethods.add(methodNode);
+        }
+    }
+
+    /**
+     * Writes the complete, remapped, class including all method bodies.
+     *
+     * @return The bytes of the class.
+     */
+    public byte[] toByteArray()
+    {
+        final ClassWriter writer = new ClassWriter(0);
+        final ClassVisitor visitor = remapper == null ? writer : new EnhancedClassRemapper(writer, remapper);
+        classReader.accept(visitor, 0);
+        return writer.toByteArray();
+    }
+}
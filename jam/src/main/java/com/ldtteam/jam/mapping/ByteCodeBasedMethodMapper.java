@@ -38,7 +38,7 @@ public final class ByteCodeBasedMethodMapper extends SingleEntryBasedMapper<Meth
     public Optional<MethodData> map(final MethodData source, final Set<MethodData> candidates)
     {
         final List<MethodData> potentialMatches = candidates.stream()
-                .filter(candidate -> matcher.match(source.node().instructions, candidate.node().instructions) == MatchingResult.MATCH)
+                .filter(candidate -> matcher.match(source.instructions(), candidate.instructions()) == MatchingResult.MATCH)
                 .toList();
 
         //If we are forced to function as a terminus then we select the first random match returned by the matching candidates.
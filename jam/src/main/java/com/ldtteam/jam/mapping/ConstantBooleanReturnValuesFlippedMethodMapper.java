@@ -46,17 +46,17 @@ public final class ConstantBooleanReturnValuesFlippedMethodMapper extends Single
     }
 
     private MatchingResult map(final MethodData source, final MethodData candidate) {
-        if (source.node().instructions.size() != candidate.node().instructions.size())
+        if (source.instructions().size() != candidate.instructions().size())
             return MatchingResult.FAIL;
 
-        final Set<Integer> returnIndices = IntStream.range(0, source.node().instructions.size())
-                                             .filter(i -> source.node().instructions.get(i).getOpcode() == Opcodes.IRETURN)
+        final Set<Integer> returnIndices = IntStream.range(0, source.instructions().size())
+                                             .filter(i -> source.instructions().get(i).getOpcode() == Opcodes.IRETURN)
                                              .boxed()
                                              .collect(Collectors.toSet());
 
         final List<Integer> sourceReturnedValueOpIndices = returnIndices
                                                              .stream()
-                                                             .map(source.node().instructions::get)
+                                                             .map(source.instructions()::get)
                                                              .map(AbstractInsnNode::getPrevious)
                                                              .filter(Objects::nonNull)
                                                              .mapToInt(AbstractInsnNode::getOpcode)
@@ -64,7 +64,7 @@ public final class ConstantBooleanReturnValuesFlippedMethodMapper extends Single
 
         final List<Integer> candidateReturnedValueOpIndices = returnIndices
                                                                 .stream()
-                                                                .map(candidate.node().instructions::get)
+                                                                .map(candidate.instructions()::get)
                                                                 .map(AbstractInsnNode::getPrevious)
                                                                 .filter(Objects::nonNull)
                                                                 .mapToInt(AbstractInsnNode::getOpcode)
@@ -81,8 +81,8 @@ public final class ConstantBooleanReturnValuesFlippedMethodMapper extends Single
                 return MatchingResult.FAIL;
         }
 
-        final InsnList sourceCopy = copy(source.node().instructions);
-        final InsnList candidateCopy = copy(candidate.node().instructions);
+        final InsnList sourceCopy = copy(source.instructions());
+        final InsnList candidateCopy = copy(candidate.instructions());
 
         final AbstractInsnNode[] sourceArray = sourceCopy.toArray();
         final AbstractInsnNode[] candidateArray = candidateCopy.toArray();
@@ -0,0 +1,175 @@
+package com.ldtteam.jam.mapping;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ListMultimap;
+import com.ldtteam.jam.matching.instructionlist.InstructionListTokenizer;
+import com.ldtteam.jam.matching.instructionlist.InstructionListTokens;
+import com.ldtteam.jam.spi.asm.MethodData;
+import com.ldtteam.jam.spi.mapping.IMapper;
+import com.ldtteam.jam.spi.mapping.MappingResult;
+import com.ldtteam.jam.spi.matching.IMatcher;
+import com.ldtteam.jam.spi.matching.MatchingResult;
+import com.ldtteam.jam.util.SetsUtil;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.objectweb.asm.tree.InsnList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A bytecode based method mapper which indexes the candidates by the fingerprint of their instructions.
+ * <p>
+ * Mapping a source happens in two stages. First the candidates with exactly the same instructions as the source are
+ * found through a hash lookup of its fingerprint. Only if there are none, and the source is large enough to be fuzzy
+ * matched at all, the matcher is run against the candidates which are large enough as well. When a fuzzy candidate
+ * limit is configured, and there are more of those candidates than that limit, only the candidates which a
+ * {@link MinHashCandidateIndex} considers most similar to the source are passed to the matcher.
+ * <p>
+ * Exact matches therefore take precedence over fuzzy matches, which {@link ByteCodeBasedMethodMapper} does not do.
+ * Within a stage the matches are selected in candidate order, with the same rules as that mapper uses.
+ */
+public final class IndexedByteCodeBasedMethodMapper implements IMapper<MethodData>
+{
+
+    public static IMapper<MethodData> terminating(final IMatcher<InsnList> fuzzyMatcher, final int minimalFuzzyInstructionCount) {
+        return terminating(fuzzyMatcher, minimalFuzzyInstructionCount, 0, InstructionListTokenizer.create());
+    }
+
+    /**
+     * @param tokenizer The tokenizer of the run, which is ideally shared with the matchers, so that every instruction list is only tokenized once.
+     */
+    public static IMapper<MethodData> terminating(final IMatcher<InsnList> fuzzyMatcher, final int minimalFuzzyInstructionCount, final int fuzzyCandidateLimit, final InstructionListTokenizer tokenizer) {
+        return new IndexedByteCodeBasedMethodMapper(fuzzyMatcher, minimalFuzzyInstructionCount, fuzzyCandidateLimit, tokenizer, true);
+    }
+
+    public static IMapper<MethodData> exact(final IMatcher<InsnList> fuzzyMatcher, final int minimalFuzzyInstructionCount) {
+        return exact(fuzzyMatcher, minimalFuzzyInstructionCount, 0, InstructionListTokenizer.create());
+    }
+
+    /**
+     * @param tokenizer The tokenizer of the run, which is ideally shared with the matchers, so that every instruction list is only tokenized once.
+     */
+    public static IMapper<MethodData> exact(final IMatcher<InsnList> fuzzyMatcher, final int minimalFuzzyInstructionCount, final int fuzzyCandidateLimit, final InstructionListTokenizer tokenizer) {
+        return new IndexedByteCodeBasedMethodMapper(fuzzyMatcher, minimalFuzzyInstructionCount, fuzzyCandidateLimit, tokenizer, false);
+    }
+
+    private final IMatcher<InsnList> fuzzyMatcher;
+    private final int minimalFuzzyInstructionCount;
+    private final int fuzzyCandidateLimit;
+    private final InstructionListTokenizer tokenizer;
+    private final boolean terminateSearch;
+
+    private IndexedByteCodeBasedMethodMapper(final IMatcher<InsnList> fuzzyMatcher, final int minimalFuzzyInstructionCount, final int fuzzyCandidateLimit, final InstructionListTokenizer tokenizer, final boolean terminateSearch)
+    {
+        this.fuzzyMatcher = fuzzyMatcher;
+        this.tokenizer = tokenizer;
+        this.minimalFuzzyInstructionCount = minimalFuzzyInstructionCount;
+        this.fuzzyCandidateLimit = fuzzyCandidateLimit;
+        this.terminateSearch = terminateSearch;
+    }
+
+    @Override
+    public MappingResult<MethodData> map(final Set<MethodData> sources, final Set<MethodData> candidates)
+    {
+        final Set<MethodData> unmappedSources = SetsUtil.cloneSet(sources);
+        final Set<MethodData> unmappedCandidates = SetsUtil.cloneSet(candidates);
+        final BiMap<MethodData, MethodData> mappings = HashBiMap.create(sources.size());
+        //The buckets keep the candidates in the order in which they are iterated, so the first match stays the same.
+        final Map<MethodData, Integer> fingerprints = new HashMap<>(candidates.size());
+        final ListMultimap<Integer, MethodData> candidatesByFingerprint = ArrayListMultimap.create();
+        unmappedCandidates.forEach(candidate -> {
+            final int fingerprint = tokenizer.tokenize(candidate.instructions()).fingerprint();
+            fingerprints.put(candidate, fingerprint);
+            candidatesByFingerprint.put(fingerprint, candidate);
+        });
+
+        final Set<MethodData> unmappedFuzzyCandidates = unmappedCandidates.stream()
+                .filter(candidate -> candidate.instructions().size() >= minimalFuzzyInstructionCount)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        final MinHashCandidateIndex fuzzyCandidateIndex = fuzzyCandidateLimit > 0 && unmappedFuzzyCandidates.size() > fuzzyCandidateLimit ?
+                new MinHashCandidateIndex(unmappedFuzzyCandidates) : null;
+
+        for (final MethodData source : sources)
+        {
+            if (unmappedCandidates.isEmpty())
+                break;
+
+            final Optional<MethodData> candidate = map(source, candidatesByFingerprint, unmappedFuzzyCandidates, fuzzyCandidateIndex);
+            candidate.ifPresent(target -> {
+                unmappedSources.remove(source);
+                unmappedCandidates.remove(target);
+                unmappedFuzzyCandidates.remove(target);
+                candidatesByFingerprint.remove(fingerprints.get(target), target);
+                mappings.put(source, target);
+            });
+        }
+
+        return new MappingResult<>(unmappedSources, mappings, unmappedCandidates);
+    }
+
+    private Optional<MethodData> map(
+            final MethodData source,
+            final ListMultimap<Integer, MethodData> candidatesByFingerprint,
+            final Set<MethodData> fuzzyCandidates,
+            @Nullable final MinHashCandidateIndex fuzzyCandidateIndex)
+    {
+        //Only the first match is needed when terminating, and two matches suffice to know that the match is ambiguous otherwise.
+        final int requiredMatches = terminateSearch ? 1 : 2;
+
+        final InsnList sourceInstructions = source.instructions();
+        final InstructionListTokens sourceTokens = tokenizer.tokenize(sourceInstructions);
+        final List<MethodData> exactMatches = candidatesByFingerprint.get(sourceTokens.fingerprint())
+                .stream()
+                .filter(candidate -> sourceTokens.isSameAs(tokenizer.tokenize(candidate.instructions())))
+                .limit(requiredMatches)
+                .toList();
+        if (!exactMatches.isEmpty()) {
+            return select(exactMatches);
+        }
+
+        if (sourceInstructions.size() < minimalFuzzyInstructionCount) {
+            return Optional.empty();
+        }
+
+        final Collection<MethodData> similarCandidates = fuzzyCandidateIndex == null ?
+                fuzzyCandidates :
+                fuzzyCandidateIndex.query(source, fuzzyCandidates, fuzzyCandidateLimit);
+        final List<MethodData> potentialMatches = new ArrayList<>(requiredMatches);
+        for (final MethodData candidate : similarCandidates)
+        {
+            if (fuzzyMatcher.match(sourceInstructions, candidate.instructions()) == MatchingResult.MATCH) {
+                potentialMatches.add(candidate);
+                if (potentialMatches.size() == requiredMatches) {
+                    break;
+                }
+            }
+        }
+
+        return select(potentialMatches);
+    }
+
+    private Optional<MethodData> select(final List<MethodData> potentialMatches)
+    {
+        //If we are forced to function as a terminus then we select the first match.
+        if (terminateSearch && potentialMatches.size() > 0) {
+            return Optional.of(potentialMatches.get(0));
+        }
+
+        //We are not a terminus but have an exact result.
+        if (potentialMatches.size() == 1) {
+            return Optional.of(potentialMatches.get(0));
+        }
+
+        //We are a not terminus with multiple results, or have no results at all.
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,164 @@
+package com.ldtteam.jam.mapping;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.ldtteam.jam.spi.asm.MethodData;
+import com.ldtteam.jam.util.InstructionNodeUtils;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+
+import java.util.*;
+
+/**
+ * A locality sensitive hashing index over the instruction lists of methods.
+ * <p>
+ * Each instruction list is reduced to a MinHash signature of its instruction n-grams, the signatures are split into bands,
+ * and methods which share at least one band are considered similar. A query returns the candidates whose signatures agree
+ * the most with the signature of the source, which are the candidates most likely to pass a diff of their instructions.
+ */
+final class MinHashCandidateIndex
+{
+    private static final int SHINGLE_SIZE   = 4;
+    private static final int BAND_COUNT     = 8;
+    private static final int ROWS_PER_BAND  = 4;
+    private static final int SIGNATURE_SIZE = BAND_COUNT * ROWS_PER_BAND;
+
+    private static final long[] SEEDS = createSeeds();
+
+    //Weak keys are compared by identity, which makes this a cache per instruction list, and thus per method.
+    private static final LoadingCache<InsnList, int[]> SIGNATURES = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build(CacheLoader.from(MinHashCandidateIndex::signatureOf));
+
+    private final List<MethodData> candidates;
+    private final List<int[]> candidateSignatures;
+    private final ListMultimap<Long, Integer> candidatesByBand = ArrayListMultimap.create();
+
+    MinHashCandidateIndex(final Collection<MethodData> candidates)
+    {
+        this.candidates = List.copyOf(candidates);
+        this.candidateSignatures = new ArrayList<>(candidates.size());
+
+        for (int candidateIndex = 0; candidateIndex < this.candidates.size(); candidateIndex++)
+        {
+            final int[] signature = SIGNATURES.getUnchecked(this.candidates.get(candidateIndex).instructions());
+            candidateSignatures.add(signature);
+
+            for (int band = 0; band < BAND_COUNT; band++)
+            {
+                candidatesByBand.put(bandKey(signature, band), candidateIndex);
+            }
+        }
+    }
+
+    /**
+     * Finds the candidates which are most similar to the given source.
+     *
+     * @param source The source method.
+     * @param remainingCandidates The candidates which are still available, candidates which are not in this set are ignored.
+     * @param limit The maximal amount of candidates to return.
+     * @return The most similar candidates, in the order in which the candidates were passed to the index.
+     */
+    List<MethodData> query(final MethodData source, final Set<MethodData> remainingCandidates, final int limit)
+    {
+        final int[] sourceSignature = SIGNATURES.getUnchecked(source.instructions());
+
+        final Set<Integer> similarCandidates = new HashSet<>();
+        for (int band = 0; band < BAND_COUNT; band++)
+        {
+            similarCandidates.addAll(candidatesByBand.get(bandKey(sourceSignature, band)));
+        }
+
+        return similarCandidates.stream()
+          .filter(candidateIndex -> remainingCandidates.contains(candidates.get(candidateIndex)))
+          .sorted(Comparator.<Integer>comparingInt(candidateIndex -> agreement(sourceSignature, candidateSignatures.get(candidateIndex))).reversed()
+            .thenComparingInt(candidateIndex -> candidateIndex))
+          .limit(limit)
+          .sorted()
+          .map(candidates::get)
+          .toList();
+    }
+
+    private static int agreement(final int[] signature, final int[] otherSignature)
+    {
+        int agreement = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++)
+        {
+            if (signature[i] == otherSignature[i])
+            {
+                agreement++;
+            }
+        }
+
+        return agreement;
+    }
+
+    private static long bandKey(final int[] signature, final int band)
+    {
+        long hash = band;
+        for (int row = 0; row < ROWS_PER_BAND; row++)
+        {
+            hash = hash * 31 + signature[band * ROWS_PER_BAND + row];
+        }
+
+        return mix(hash);
+    }
+
+    private static int[] signatureOf(final InsnList instructions)
+    {
+        //Token ids depend on the order in which instructions are first seen, the instruction hashes are the same in every run.
+        final int[] tokens = new int[instructions.size()];
+        int index = 0;
+        for (final AbstractInsnNode instruction : instructions)
+        {
+            tokens[index++] = InstructionNodeUtils.instructionHashCode(instruction);
+        }
+
+        final int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        //Lists shorter than a single shingle are treated as one shingle.
+        final int shingleCount = Math.max(1, tokens.length - SHINGLE_SIZE + 1);
+        for (int shingle = 0; shingle < shingleCount; shingle++)
+        {
+            long shingleHash = 1;
+            for (int token = shingle; token < Math.min(tokens.length, shingle + SHINGLE_SIZE); token++)
+            {
+                shingleHash = shingleHash * 31 + tokens[token];
+            }
+
+            for (int i = 0; i < SIGNATURE_SIZE; i++)
+            {
+                signature[i] = Math.min(signature[i], (int) (mix(shingleHash ^ SEEDS[i]) >>> 33));
+            }
+        }
+
+        return signature;
+    }
+
+    private static long[] createSeeds()
+    {
+        final long[] seeds = new long[SIGNATURE_SIZE];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SIGNATURE_SIZE; i++)
+        {
+            seed += 0x9E3779B97F4A7C15L;
+            seeds[i] = mix(seed);
+        }
+
+        return seeds;
+    }
+
+    private static long mix(long value)
+    {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
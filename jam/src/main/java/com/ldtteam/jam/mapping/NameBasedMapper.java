@@ -1,12 +1,20 @@
 package com.ldtteam.jam.mapping;
 
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
 import com.ldtteam.jam.spi.asm.ClassData;
 import com.ldtteam.jam.spi.asm.FieldData;
 import com.ldtteam.jam.spi.asm.MethodData;
 import com.ldtteam.jam.spi.mapping.IMapper;
+import com.ldtteam.jam.spi.mapping.MappingResult;
 import com.ldtteam.jam.spi.name.INameProvider;
+import com.ldtteam.jam.util.SetsUtil;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 
 public class NameBasedMapper<T> extends SingleEntryBasedMapper<T>
@@ -32,6 +40,32 @@ public class NameBasedMapper<T> extends SingleEntryBasedMapper<T>
 
     private NameBasedMapper(final INameProvider<T> nameProvider) {this.nameProvider = nameProvider;}
 
+    @Override
+    public MappingResult<T> map(final Set<T> sources, final Set<T> candidates)
+    {
+        final Set<T> unmappedSources = SetsUtil.cloneSet(sources);
+        final Set<T> unmappedCandidates = SetsUtil.cloneSet(candidates);
+        final BiMap<T, T> mappings = HashBiMap.create(sources.size());
+
+        //The queues are filled in the iteration order of the unmapped candidates, so their heads are the candidates a linear
+        //scan would find first. A mapped candidate is always the head of its queue.
+        final Map<String, Queue<T>> candidatesByName = new HashMap<>(candidates.size());
+        unmappedCandidates.forEach(candidate -> candidatesByName.computeIfAbsent(nameProvider.getName(candidate), name -> new ArrayDeque<>()).add(candidate));
+
+        sources.forEach(source -> {
+            final Queue<T> namedCandidates = candidatesByName.get(nameProvider.getName(source));
+            if (namedCandidates == null || namedCandidates.isEmpty())
+                return;
+
+            final T target = namedCandidates.poll();
+            unmappedSources.remove(source);
+            unmappedCandidates.remove(target);
+            mappings.put(source, target);
+        });
+
+        return new MappingResult<>(unmappedSources, mappings, unmappedCandidates);
+    }
+
     @Override
     protected Optional<T> map(final T source, final Set<T> candidates)
     {
@@ -1,63 +1,104 @@
 package com.ldtteam.jam.matching.instructionlist;
 
-import com.github.difflib.DiffUtils;
-import com.github.difflib.patch.AbstractDelta;
-import com.github.difflib.patch.DeltaType;
-import com.github.difflib.patch.Patch;
 import com.ldtteam.jam.spi.matching.IMatcher;
 import com.ldtteam.jam.spi.matching.MatchingResult;
-import com.ldtteam.jam.util.InstructionNodeUtils;
-import org.objectweb.asm.tree.AbstractInsnNode;
+import com.ldtteam.jam.statistics.FuzzyMatchingStatistics;
+import com.ldtteam.jam.util.EditDistanceUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.objectweb.asm.tree.InsnList;
-import org.objectweb.asm.util.Textifier;
-import org.objectweb.asm.util.TraceMethodVisitor;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class DiffBasedInstructionListMatcher implements IMatcher<InsnList> {
 
+    /**
+     * Creates a matcher which uses the percentage of unchanged parts in the diff of both instruction lists.
+     * Because a diff only consists of the changed parts, this percentage is 0 for any two different instruction lists.
+     * Two different instruction lists therefore only match when the threshold for their size is at most 0.
+     */
     public static IMatcher<InsnList> create(final Map<Integer, Float> mappingThresholdPercentage, int minimalInstructionCount) {
-        return new DiffBasedInstructionListMatcher(mappingThresholdPercentage, minimalInstructionCount);
+        return create(mappingThresholdPercentage, minimalInstructionCount, InstructionListTokenizer.create());
+    }
+
+    public static IMatcher<InsnList> create(final Map<Integer, Float> mappingThresholdPercentage, int minimalInstructionCount, final InstructionListTokenizer tokenizer) {
+        return new DiffBasedInstructionListMatcher(mappingThresholdPercentage, minimalInstructionCount, tokenizer, null);
+    }
+
+    /**
+     * Creates a matcher which uses the similarity of both instruction lists, which is 100 * (1 - edits / (left + right)),
+     * where the edits are the insertions and deletions needed to turn the left list into the right one.
+     */
+    public static IMatcher<InsnList> editDistance(final Map<Integer, Float> mappingThresholdPercentage, int minimalInstructionCount, final FuzzyMatchingStatistics statistics) {
+        return editDistance(mappingThresholdPercentage, minimalInstructionCount, InstructionListTokenizer.create(), statistics);
+    }
+
+    public static IMatcher<InsnList> editDistance(final Map<Integer, Float> mappingThresholdPercentage, int minimalInstructionCount, final InstructionListTokenizer tokenizer, final FuzzyMatchingStatistics statistics) {
+        return new DiffBasedInstructionListMatcher(mappingThresholdPercentage, minimalInstructionCount, tokenizer, statistics);
     }
 
     final Map<Integer, Float> mappingThresholdPercentage;
     final int minimalInstructionCount;
+    final InstructionListTokenizer tokenizer;
+    //Only the edit distance similarity records statistics, so this is null when the changed parts are used.
+    @Nullable
+    final FuzzyMatchingStatistics statistics;
+
+    private final int[] thresholdSizes;
+    private final float[] thresholdPercentages;
 
-    private DiffBasedInstructionListMatcher(final Map<Integer, Float> mappingThresholdPercentage, final int minimalInstructionCount) {this.mappingThresholdPercentage = mappingThresholdPercentage;
+    private DiffBasedInstructionListMatcher(final Map<Integer, Float> mappingThresholdPercentage, final int minimalInstructionCount, final InstructionListTokenizer tokenizer, @Nullable final FuzzyMatchingStatistics statistics) {this.mappingThresholdPercentage = mappingThresholdPercentage;
         this.minimalInstructionCount = minimalInstructionCount;
+        this.tokenizer = tokenizer;
+        this.statistics = statistics;
+
+        final List<Map.Entry<Integer, Float>> sortedThresholds = new ArrayList<>(mappingThresholdPercentage.entrySet());
+        sortedThresholds.sort(Map.Entry.comparingByKey());
+        this.thresholdSizes = sortedThresholds.stream().mapToInt(Map.Entry::getKey).toArray();
+        this.thresholdPercentages = new float[sortedThresholds.size()];
+        for (int i = 0; i < sortedThresholds.size(); i++)
+        {
+            this.thresholdPercentages[i] = sortedThresholds.get(i).getValue();
+        }
     }
 
-
     @Override
     public MatchingResult match(InsnList left, InsnList right) {
-        final List<InstructionNodeComparisonDelegate> leftInstructions = toComparisonArray(left);
-        final List<InstructionNodeComparisonDelegate> rightInstructions = toComparisonArray(right);
+        if (left.size() < minimalInstructionCount)
+            return MatchingResult.UNKNOWN;
 
-        if (leftInstructions.size() < minimalInstructionCount)
+        if (right.size() < minimalInstructionCount)
             return MatchingResult.UNKNOWN;
 
-        if (rightInstructions.size() < minimalInstructionCount)
+        if (statistics == null)
+            return matchByChangedParts(left, right);
+
+        //The percentage of matching instructions is 100 * (1 - edits / (left + right)), where the edits are the insertions
+        //and deletions needed to turn the left list into the right one. The threshold therefore bounds the amount of edits
+        //before the diff is started, which allows the diff to stop as soon as that bound is exceeded.
+        final int totalSize = left.size() + right.size();
+        final int maximalEdits = (int) Math.floor((100 - getMatchChangePercentage(left.size(), right.size())) * totalSize / 100f);
+
+        //Every edit changes the instruction count by one, so the difference in size is a lower bound of the edits.
+        if (Math.abs(left.size() - right.size()) > maximalEdits)
+        {
+            statistics.recordInstructionCountRejection();
             return MatchingResult.UNKNOWN;
+        }
 
-        Patch<InstructionNodeComparisonDelegate> patch = DiffUtils.diff(leftInstructions, rightInstructions);
-        final long deleteAndInsertCount = patch.getDeltas().stream().map(AbstractDelta::getType)
-                                           .filter(type -> type == DeltaType.DELETE || type == DeltaType.INSERT || type == DeltaType.CHANGE)
-                                           .count();
+        final InstructionListTokens leftTokens = tokenizer.tokenize(left);
+        final InstructionListTokens rightTokens = tokenizer.tokenize(right);
 
-        final float mappingPercentage = 100 - 100 * (float) deleteAndInsertCount / patch.getDeltas().size();
-        float matchChangePercentage = 100-0f;
-        List<Map.Entry<Integer, Float>> toSort = new ArrayList<>(mappingThresholdPercentage.entrySet());
-        toSort.sort(Map.Entry.comparingByKey());
-        for (Map.Entry<Integer, Float> entry : toSort)
+        //Every edit changes the count of exactly one opcode by one, so the distance between the opcode histograms is a lower bound as well.
+        if (leftTokens.histogramDistance(rightTokens) > maximalEdits)
         {
-            if (entry.getKey() < leftInstructions.size() || entry.getKey() < rightInstructions.size())
-            {
-                matchChangePercentage = entry.getValue();
-            }
+            statistics.recordOpcodeHistogramRejection();
+            return MatchingResult.UNKNOWN;
         }
 
-        if (mappingPercentage >= matchChangePercentage)
+        final int edits = EditDistanceUtils.boundedEditDistance(leftTokens.tokens(), rightTokens.tokens(), maximalEdits);
+
+        statistics.recordDiff(edits != EditDistanceUtils.EXCEEDED);
+        if (edits != EditDistanceUtils.EXCEEDED)
         {
             return MatchingResult.MATCH;
         }
@@ -65,43 +106,28 @@ public class DiffBasedInstructionListMatcher implements IMatcher<InsnList> {
         return MatchingResult.UNKNOWN;
     }
 
-    private static List<InstructionNodeComparisonDelegate> toComparisonArray(final InsnList instructions) {
-        return Arrays.stream(instructions.toArray()).map(InstructionNodeComparisonDelegate::new).collect(Collectors.toList());
-    }
+    private MatchingResult matchByChangedParts(final InsnList left, final InsnList right) {
+        //Only different instruction lists have changed parts, all of which count as unmatched, so they have a percentage of 0.
+        if (getMatchChangePercentage(left.size(), right.size()) > 0)
+            return MatchingResult.UNKNOWN;
 
-    private static final class InstructionNodeComparisonDelegate {
-        private final AbstractInsnNode instructionNode;
+        //Equal instruction lists have no parts at all, so they have no percentage and never match.
+        if (tokenizer.tokenize(left).isSameAs(tokenizer.tokenize(right)))
+            return MatchingResult.UNKNOWN;
 
-        private InstructionNodeComparisonDelegate(final AbstractInsnNode instructionNode) {this.instructionNode = instructionNode;}
+        return MatchingResult.MATCH;
+    }
 
-        @Override
-        public boolean equals(final Object o)
+    private float getMatchChangePercentage(final int leftSize, final int rightSize) {
+        float matchChangePercentage = 100-0f;
+        for (int i = 0; i < thresholdSizes.length; i++)
         {
-            if (this == o)
+            if (thresholdSizes[i] < leftSize || thresholdSizes[i] < rightSize)
             {
-                return true;
+                matchChangePercentage = thresholdPercentages[i];
             }
-            if (!(o instanceof final InstructionNodeComparisonDelegate that))
-            {
-                return false;
-            }
-
-            return InstructionNodeUtils.isSameInstruction(instructionNode, that.instructionNode);
-        }
-
-        @Override
-        public int hashCode()
-        {
-            return InstructionNodeUtils.instructionHashCode(instructionNode);
         }
 
-        @Override
-        public String toString()
-        {
-            final Textifier textifier = new Textifier();
-            final TraceMethodVisitor traceMethodVisitor = new TraceMethodVisitor(textifier);
-            instructionNode.accept(traceMethodVisitor);
-            return textifier.text.get(0).toString();
-        }
+        return matchChangePercentage;
     }
 }
@@ -2,19 +2,24 @@ package com.ldtteam.jam.matching.instructionlist;
 
 import com.ldtteam.jam.spi.matching.IMatcher;
 import com.ldtteam.jam.spi.matching.MatchingResult;
-import com.ldtteam.jam.util.InstructionNodeUtils;
 import org.objectweb.asm.tree.*;
 
 public class DirectInstructionListMatcher implements IMatcher<InsnList> {
 
     public static IMatcher<InsnList> create() {
-        return new DirectInstructionListMatcher();
+        return create(InstructionListTokenizer.create());
     }
 
-    private DirectInstructionListMatcher() {}
+    public static IMatcher<InsnList> create(final InstructionListTokenizer tokenizer) {
+        return new DirectInstructionListMatcher(tokenizer);
+    }
+
+    private final InstructionListTokenizer tokenizer;
+
+    private DirectInstructionListMatcher(final InstructionListTokenizer tokenizer) {this.tokenizer = tokenizer;}
 
     @Override
     public MatchingResult match(InsnList left, InsnList right) {
-        return InstructionNodeUtils.isSameInstructionList(left, right) ? MatchingResult.MATCH : MatchingResult.UNKNOWN;
+        return tokenizer.tokenize(left).isSameAs(tokenizer.tokenize(right)) ? MatchingResult.MATCH : MatchingResult.UNKNOWN;
     }
 }
@@ -0,0 +1,75 @@
+package com.ldtteam.jam.matching.instructionlist;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.objectweb.asm.tree.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns token ids to instructions, and caches the tokens of the instruction lists it has tokenized.
+ * <p>
+ * Token ids are only comparable between the tokens of a single tokenizer. The table of token ids grows with every
+ * distinct instruction, so a tokenizer should only live as long as the matchers or mappers which use it, for example
+ * a single run.
+ */
+public final class InstructionListTokenizer
+{
+    public static InstructionListTokenizer create()
+    {
+        return new InstructionListTokenizer();
+    }
+
+    private final Map<InstructionKey, Integer> tokenIds    = new ConcurrentHashMap<>();
+    private final AtomicInteger                nextTokenId = new AtomicInteger();
+
+    //Weak keys are compared by identity, which makes this a cache per instruction list, and thus per method.
+    private final LoadingCache<InsnList, InstructionListTokens> tokens = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build(CacheLoader.from(instructions -> InstructionListTokens.create(instructions, this::tokenId)));
+
+    private InstructionListTokenizer()
+    {
+    }
+
+    public InstructionListTokens tokenize(final InsnList instructions)
+    {
+        return tokens.getUnchecked(instructions);
+    }
+
+    private int tokenId(final AbstractInsnNode instruction)
+    {
+        return tokenIds.computeIfAbsent(InstructionKey.of(instruction), key -> nextTokenId.getAndIncrement());
+    }
+
+    private record InstructionKey(int type, int opcode, String owner, String name, String desc)
+    {
+        private static InstructionKey of(final AbstractInsnNode instruction)
+        {
+            if (instruction instanceof final MethodInsnNode methodInstruction)
+            {
+                return new InstructionKey(instruction.getType(), instruction.getOpcode(), methodInstruction.owner, methodInstruction.name, methodInstruction.desc);
+            }
+
+            if (instruction instanceof final FieldInsnNode fieldInstruction)
+            {
+                return new InstructionKey(instruction.getType(), instruction.getOpcode(), fieldInstruction.owner, fieldInstruction.name, fieldInstruction.desc);
+            }
+
+            if (instruction instanceof final MultiANewArrayInsnNode multiANewArrayInstruction)
+            {
+                return new InstructionKey(instruction.getType(), instruction.getOpcode(), null, null, multiANewArrayInstruction.desc);
+            }
+
+            if (instruction instanceof final TypeInsnNode typeInstruction)
+            {
+                return new InstructionKey(instruction.getType(), instruction.getOpcode(), null, null, typeInstruction.desc);
+            }
+
+            return new InstructionKey(instruction.getType(), instruction.getOpcode(), null, null, null);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ldtteam.jam.matching.instructionlist;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * The normalized form of an instruction list, in which every instruction is replaced by a token id.
+ * Two instructions get the same token id if, and only if, {@link com.ldtteam.jam.util.InstructionNodeUtils#isSameInstruction(AbstractInsnNode, AbstractInsnNode)}
+ * considers them the same, so comparing token ids is equivalent to comparing the instructions themselves.
+ * <p>
+ * The tokens are created by an {@link InstructionListTokenizer}, and are only comparable to tokens of the same tokenizer.
+ *
+ * @param tokens The token ids of the instructions, in order.
+ * @param histogramOpcodes The distinct opcodes of the instructions in ascending order, offset by one so that pseudo instructions are included.
+ * @param histogramCounts The amount of instructions with the opcode at the same index.
+ * @param fingerprint The hash code of the token ids.
+ */
+public record InstructionListTokens(int[] tokens, int[] histogramOpcodes, int[] histogramCounts, int fingerprint)
+{
+    static InstructionListTokens create(final InsnList instructions, final ToIntFunction<AbstractInsnNode> tokenIds)
+    {
+        final int[] tokens = new int[instructions.size()];
+        final int[] histogram = new int[257];
+
+        int index = 0;
+        for (final AbstractInsnNode instruction : instructions)
+        {
+            tokens[index++] = tokenIds.applyAsInt(instruction);
+            //Pseudo instructions, like labels and line numbers, have an opcode of -1.
+            histogram[instruction.getOpcode() + 1]++;
+        }
+
+        final int distinctOpcodes = (int) Arrays.stream(histogram).filter(count -> count > 0).count();
+        final int[] histogramOpcodes = new int[distinctOpcodes];
+        final int[] histogramCounts = new int[distinctOpcodes];
+        int histogramIndex = 0;
+        for (int opcode = 0; opcode < histogram.length; opcode++)
+        {
+            if (histogram[opcode] > 0)
+            {
+                histogramOpcodes[histogramIndex] = opcode;
+                histogramCounts[histogramIndex] = histogram[opcode];
+                histogramIndex++;
+            }
+        }
+
+        return new InstructionListTokens(tokens, histogramOpcodes, histogramCounts, Arrays.hashCode(tokens));
+    }
+
+    public int size()
+    {
+        return tokens.length;
+    }
+
+    /**
+     * Calculates the distance between the opcode histograms of both instruction lists.
+     * Every insertion or deletion changes the count of exactly one opcode by one, so this is a lower bound of the edit distance.
+     *
+     * @param other The other instruction list.
+     * @return The sum of the absolute differences of the opcode counts.
+     */
+    public int histogramDistance(final InstructionListTokens other)
+    {
+        int distance = 0;
+        int index = 0;
+        int otherIndex = 0;
+        while (index < histogramOpcodes.length && otherIndex < other.histogramOpcodes.length)
+        {
+            final int opcode = histogramOpcodes[index];
+            final int otherOpcode = other.histogramOpcodes[otherIndex];
+            if (opcode == otherOpcode)
+            {
+                distance += Math.abs(histogramCounts[index++] - other.histogramCounts[otherIndex++]);
+            }
+            else if (opcode < otherOpcode)
+            {
+                distance += histogramCounts[index++];
+            }
+            else
+            {
+                distance += other.histogramCounts[otherIndex++];
+            }
+        }
+
+        while (index < histogramOpcodes.length)
+        {
+            distance += histogramCounts[index++];
+        }
+
+        while (otherIndex < other.histogramOpcodes.length)
+        {
+            distance += other.histogramCounts[otherIndex++];
+        }
+
+        return distance;
+    }
+
+    /**
+     * Indicates whether both instruction lists consist of the same instructions.
+     *
+     * @param other The other instruction list.
+     * @return {@code true} when both lists have the same tokens.
+     */
+    public boolean isSameAs(final InstructionListTokens other)
+    {
+        return fingerprint == other.fingerprint && Arrays.equals(tokens, other.tokens);
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof final InstructionListTokens that))
+        {
+            return false;
+        }
+
+        return isSameAs(that);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return fingerprint;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "InstructionListTokens{" + Arrays.toString(tokens) + "}";
+    }
+}
@@ -0,0 +1,116 @@
+package com.ldtteam.jam.rename;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.ldtteam.jam.spi.name.IRemapper;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A remapper which remembers the class and descriptor remappings of another remapper.
+ * <p>
+ * The amount of distinct classes and descriptors in a jar is small compared to the amount of times they are remapped,
+ * so the results are kept in a bounded concurrent cache. Remapped names are interned, so equal results share a single
+ * string instance. All other remappings are passed through to the wrapped remapper.
+ */
+public final class CachingRemapper implements IRemapper
+{
+    private static final int DEFAULT_MAXIMUM_SIZE = 1 << 16;
+
+    private static final Interner<String> REMAPPED_NAMES = Interners.newWeakInterner();
+
+    public static IRemapper create(final IRemapper delegate)
+    {
+        return create(delegate, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public static IRemapper create(final IRemapper delegate, final int maximumSize)
+    {
+        if (delegate instanceof CachingRemapper)
+        {
+            return delegate;
+        }
+
+        return new CachingRemapper(delegate, maximumSize);
+    }
+
+    private final IRemapper                               delegate;
+    private final int                                     maximumSize;
+    private final LoadingCache<String, Optional<String>> remappedClasses;
+    private final LoadingCache<String, Optional<String>> remappedDescriptors;
+
+    private CachingRemapper(final IRemapper delegate, final int maximumSize)
+    {
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.remappedClasses = createCache(maximumSize, delegate::remapClass);
+        this.remappedDescriptors = createCache(maximumSize, delegate::remapDescriptor);
+    }
+
+    private static LoadingCache<String, Optional<String>> createCache(final int maximumSize, final Function<String, Optional<String>> remap)
+    {
+        return CacheBuilder.newBuilder()
+          .maximumSize(maximumSize)
+          .build(CacheLoader.from(name -> remap.apply(name).map(REMAPPED_NAMES::intern)));
+    }
+
+    @Override
+    public Optional<String> remapClass(final String className)
+    {
+        return remappedClasses.getUnchecked(className);
+    }
+
+    @Override
+    public Optional<String> remapMethod(final String className, final String name, final String descriptor)
+    {
+        return delegate.remapMethod(className, name, descriptor);
+    }
+
+    @Override
+    public Optional<String> remapDescriptor(final String descriptor)
+    {
+        return remappedDescriptors.getUnchecked(descriptor);
+    }
+
+    @Override
+    public Optional<String> remapField(final String className, final String name, final String type)
+    {
+        return delegate.remapField(className, name, type);
+    }
+
+    @Override
+    public Optional<String> remapParameter(final String className, final String methodName, final String descriptor, final String parameterName, final int index)
+    {
+        return delegate.remapParameter(className, methodName, descriptor, parameterName, index);
+    }
+
+    @Override
+    public Optional<String> remapPackage(final String packageName)
+    {
+        return delegate.remapPackage(packageName);
+    }
+
+    @Override
+    public IRemapper reverse()
+    {
+        return create(delegate.reverse(), maximumSize);
+    }
+
+    /**
+     * @return The remapper whose results are cached.
+     */
+    public IRemapper delegate()
+    {
+        return delegate;
+    }
+
+    @Override
+    public Optional<String> cacheKey()
+    {
+        return delegate.cacheKey();
+    }
+}
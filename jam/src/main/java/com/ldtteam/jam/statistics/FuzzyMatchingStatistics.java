@@ -0,0 +1,75 @@
+package com.ldtteam.jam.statistics;
+
+import com.ldtteam.jam.spi.statistics.IFuzzyMatchingStatistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many candidate pairs of the fuzzy instruction matching are rejected by the cheap pre-filters,
+ * and how many of them actually needed to be diffed.
+ * The pairs are counted concurrently, by all mappers which share the matcher that records them.
+ */
+public final class FuzzyMatchingStatistics implements IFuzzyMatchingStatistics
+{
+    private final LongAdder rejectedByInstructionCount = new LongAdder();
+    private final LongAdder rejectedByOpcodeHistogram  = new LongAdder();
+    private final LongAdder diffed                     = new LongAdder();
+    private final LongAdder matched                    = new LongAdder();
+
+    public void recordInstructionCountRejection()
+    {
+        rejectedByInstructionCount.increment();
+    }
+
+    public void recordOpcodeHistogramRejection()
+    {
+        rejectedByOpcodeHistogram.increment();
+    }
+
+    public void recordDiff(final boolean matched)
+    {
+        diffed.increment();
+        if (matched)
+        {
+            this.matched.increment();
+        }
+    }
+
+    public void load(final IFuzzyMatchingStatistics statistics)
+    {
+        load(rejectedByInstructionCount, statistics.getRejectedByInstructionCount());
+        load(rejectedByOpcodeHistogram, statistics.getRejectedByOpcodeHistogram());
+        load(diffed, statistics.getDiffed());
+        load(matched, statistics.getMatched());
+    }
+
+    private static void load(final LongAdder counter, final long value)
+    {
+        counter.reset();
+        counter.add(value);
+    }
+
+    @Override
+    public long getRejectedByInstructionCount()
+    {
+        return rejectedByInstructionCount.sum();
+    }
+
+    @Override
+    public long getRejectedByOpcodeHistogram()
+    {
+        return rejectedByOpcodeHistogram.sum();
+    }
+
+    @Override
+    public long getDiffed()
+    {
+        return diffed.sum();
+    }
+
+    @Override
+    public long getMatched()
+    {
+        return matched.sum();
+    }
+}
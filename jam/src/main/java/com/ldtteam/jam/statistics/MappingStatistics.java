@@ -24,6 +24,8 @@ public final class MappingStatistics implements IMappingStatistics
     private final TypeMappingStatistics totalFieldStatistics  = new TypeMappingStatistics();
     private final TypeMappingStatistics totalParameterStatistics = new TypeMappingStatistics();
 
+    private final FuzzyMatchingStatistics fuzzyMatchingStatistics = new FuzzyMatchingStatistics();
+
     @Override
     public TypeMappingStatistics getDirectClassStatistics()
     {
@@ -115,4 +117,10 @@ public final class MappingStatistics implements IMappingStatistics
     public TypeMappingStatistics getTotalParameterStatistics() {
         return totalParameterStatistics;
     }
+
+    @Override
+    public FuzzyMatchingStatistics getFuzzyMatchingStatistics()
+    {
+        return fuzzyMatchingStatistics;
+    }
 }
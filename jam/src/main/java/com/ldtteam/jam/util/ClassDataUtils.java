@@ -0,0 +1,83 @@
+package com.ldtteam.jam.util;
+
+import com.ldtteam.jam.spi.asm.ClassData;
+import com.ldtteam.jam.spi.asm.FieldData;
+import com.ldtteam.jam.spi.asm.MethodData;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class ClassDataUtils {
+
+    private ClassDataUtils() {
+        throw new IllegalStateException("Can not instantiate an instance of: ClassDataUtils. This is a utility class");
+    }
+
+    /**
+     * Assigns dense ordinals to the given classes and their members.
+     * The classes are numbered in the order they are given in, their members in declaration order.
+     *
+     * @param classNodes The classes of a single version, in the order in which they are numbered.
+     * @return The indexed class datas, in the same order.
+     */
+    public static List<ClassData> index(final Collection<ClassNode> classNodes) {
+        final List<ClassData> classes = new ArrayList<>(classNodes.size());
+
+        int methodOrdinal = 0;
+        int fieldOrdinal = 0;
+        int parameterOrdinal = 0;
+        for (final ClassNode classNode : classNodes) {
+            classes.add(new ClassData(classNode, classes.size(), methodOrdinal, fieldOrdinal, parameterOrdinal));
+
+            methodOrdinal += classNode.methods.size();
+            fieldOrdinal += classNode.fields.size();
+            for (final MethodNode methodNode : classNode.methods) {
+                parameterOrdinal += MethodData.parameterCount(methodNode);
+            }
+        }
+
+        return classes;
+    }
+
+    public static Stream<MethodData> methodsAsStream(final ClassData classData) {
+        if (!classData.isIndexed()) {
+            return classData.node().methods.stream().map(node -> new MethodData(classData, node));
+        }
+
+        final List<MethodNode> methodNodes = classData.node().methods;
+        final int[] firstParameterOrdinals = new int[methodNodes.size()];
+        int parameterOrdinal = classData.firstParameterOrdinal();
+        for (int i = 0; i < methodNodes.size(); i++) {
+            firstParameterOrdinals[i] = parameterOrdinal;
+            parameterOrdinal += MethodData.parameterCount(methodNodes.get(i));
+        }
+
+        return IntStream.range(0, methodNodes.size())
+                .mapToObj(i -> new MethodData(classData, methodNodes.get(i), classData.firstMethodOrdinal() + i, firstParameterOrdinals[i]));
+    }
+
+    public static Set<MethodData> methodsAsSet(final ClassData classData) {
+        return methodsAsStream(classData).collect(SetsUtil.methods());
+    }
+
+    public static Stream<FieldData> fieldsAsStream(final ClassData classData) {
+        if (!classData.isIndexed()) {
+            return classData.node().fields.stream().map(node -> new FieldData(classData, node));
+        }
+
+        final List<FieldNode> fieldNodes = classData.node().fields;
+        return IntStream.range(0, fieldNodes.size())
+                .mapToObj(i -> new FieldData(classData, fieldNodes.get(i), classData.firstFieldOrdinal() + i));
+    }
+
+    public static Set<FieldData> fieldsAsSet(final ClassData classData) {
+        return fieldsAsStream(classData).collect(SetsUtil.fields());
+    }
+}
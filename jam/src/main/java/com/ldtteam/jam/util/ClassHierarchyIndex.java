@@ -0,0 +1,157 @@
+package com.ldtteam.jam.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An index of the type hierarchy of the classes of a single version.
+ * <p>
+ * The classes get a dense index in the order they are given in. The ancestors of each class are calculated once,
+ * reusing the already calculated ancestors of its super types, and stored as an array of class indices.
+ * Super types which are not part of the given classes, like library or jdk classes, are not part of the hierarchy.
+ *
+ * @param <T> The type of the classes.
+ */
+public final class ClassHierarchyIndex<T>
+{
+
+    private static final int[] IN_PROGRESS = new int[0];
+
+    /**
+     * Creates a new hierarchy index for the given classes.
+     *
+     * @param classes The classes of a single version.
+     * @param nameProvider Gives the name of a class.
+     * @param superNameProvider Gives the name of the super class of a class, or null if it has none.
+     * @param interfacesProvider Gives the names of the interfaces of a class, or null if it has none.
+     * @param <T> The type of the classes.
+     * @return The hierarchy index.
+     */
+    public static <T> ClassHierarchyIndex<T> create(
+      final Collection<T> classes,
+      final Function<T, String> nameProvider,
+      final Function<T, String> superNameProvider,
+      final Function<T, Collection<String>> interfacesProvider)
+    {
+        final List<T> classesByIndex = List.copyOf(classes);
+        final Map<String, Integer> indicesByName = new HashMap<>(classesByIndex.size());
+        for (int index = 0; index < classesByIndex.size(); index++)
+        {
+            indicesByName.put(nameProvider.apply(classesByIndex.get(index)), index);
+        }
+
+        final int[][] superTypes = new int[classesByIndex.size()][];
+        for (int index = 0; index < classesByIndex.size(); index++)
+        {
+            final T classData = classesByIndex.get(index);
+            final List<Integer> directSuperTypes = new ArrayList<>();
+
+            final String superName = superNameProvider.apply(classData);
+            if (superName != null && indicesByName.containsKey(superName))
+            {
+                directSuperTypes.add(indicesByName.get(superName));
+            }
+
+            final Collection<String> interfaces = interfacesProvider.apply(classData);
+            if (interfaces != null)
+            {
+                interfaces.stream()
+                  .filter(indicesByName::containsKey)
+                  .map(indicesByName::get)
+                  .forEach(directSuperTypes::add);
+            }
+
+            superTypes[index] = directSuperTypes.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        final int[][] ancestors = new int[classesByIndex.size()][];
+        for (int index = 0; index < classesByIndex.size(); index++)
+        {
+            calculateAncestors(index, superTypes, ancestors, classesByIndex.size());
+        }
+
+        return new ClassHierarchyIndex<>(classesByIndex, indicesByName, ancestors);
+    }
+
+    private static int[] calculateAncestors(final int index, final int[][] superTypes, final int[][] ancestors, final int classCount)
+    {
+        if (ancestors[index] != null)
+        {
+            //A cyclic hierarchy is invalid, the super types which close the cycle are ignored.
+            return ancestors[index] == IN_PROGRESS ? new int[0] : ancestors[index];
+        }
+
+        ancestors[index] = IN_PROGRESS;
+
+        //The class itself comes first, followed by the hierarchy of its super class and then that of its interfaces.
+        //Shared super types of diamond shaped hierarchies are only kept at their first position.
+        final BitSet seen = new BitSet(classCount);
+        final List<Integer> result = new ArrayList<>();
+        seen.set(index);
+        result.add(index);
+        for (final int superType : superTypes[index])
+        {
+            for (final int ancestor : calculateAncestors(superType, superTypes, ancestors, classCount))
+            {
+                if (!seen.get(ancestor))
+                {
+                    seen.set(ancestor);
+                    result.add(ancestor);
+                }
+            }
+        }
+
+        ancestors[index] = result.stream().mapToInt(Integer::intValue).toArray();
+        return ancestors[index];
+    }
+
+    private final List<T>              classesByIndex;
+    private final Map<String, Integer> indicesByName;
+    private final int[][]              ancestors;
+
+    private ClassHierarchyIndex(final List<T> classesByIndex, final Map<String, Integer> indicesByName, final int[][] ancestors)
+    {
+        this.classesByIndex = classesByIndex;
+        this.indicesByName = indicesByName;
+        this.ancestors = ancestors;
+    }
+
+    /**
+     * Gives the class itself and all its super classes and interfaces which are part of this index.
+     * The class comes first, followed by the hierarchy of its super class and then the hierarchies of its interfaces.
+     * Every ancestor is listed only once.
+     *
+     * @param name The name of the class.
+     * @return The ancestors of the class, or an empty list if it is not part of this index.
+     */
+    public List<T> ancestorsOf(final String name)
+    {
+        final Integer index = indicesByName.get(name);
+        if (index == null)
+        {
+            return List.of();
+        }
+
+        final int[] ancestorIndices = ancestors[index];
+        return new AbstractList<>()
+        {
+            @Override
+            public T get(final int ancestor)
+            {
+                return classesByIndex.get(ancestorIndices[ancestor]);
+            }
+
+            @Override
+            public int size()
+            {
+                return ancestorIndices.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.ldtteam.jam.util;
+
+public final class EditDistanceUtils
+{
+
+    /**
+     * Indicates that the edit distance between two sequences exceeds the allowed maximum.
+     */
+    public static final int EXCEEDED = -1;
+
+    //The furthest reaching positions of the diagonals only depend on the previous round, so each thread reuses a single buffer.
+    private static final ThreadLocal<int[]> FURTHEST_REACHING_BUFFER = ThreadLocal.withInitial(() -> new int[64]);
+
+    private EditDistanceUtils()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: EditDistanceUtils. This is a utility class");
+    }
+
+    /**
+     * Calculates the amount of insertions and deletions needed to turn the left tokens into the right tokens,
+     * as long as that amount does not exceed the given maximum.
+     * <p>
+     * This uses the greedy algorithm of Myers, which only explores the diagonals which can be reached with the edits
+     * spent so far. The search stops as soon as more edits than allowed would be required, so clearly different
+     * sequences are rejected after inspecting a narrow band around the main diagonal.
+     * The tokens are compared directly and a buffer is reused per thread, so the search does not allocate once that
+     * buffer is large enough for the requested maximum.
+     * The amount of insertions is {@code (edits + right.length - left.length) / 2}, the rest of the edits are deletions.
+     *
+     * @param left The left tokens.
+     * @param right The right tokens.
+     * @param maximalEdits The maximal amount of edits to consider.
+     * @return The amount of edits, or {@link #EXCEEDED} if more than the maximal amount of edits are needed.
+     */
+    public static int boundedEditDistance(final int[] left, final int[] right, final int maximalEdits)
+    {
+        final int leftLength = left.length;
+        final int rightLength = right.length;
+        if (maximalEdits < 0 || Math.abs(leftLength - rightLength) > maximalEdits)
+        {
+            return EXCEEDED;
+        }
+
+        //The furthest reaching x position on each diagonal k = x - y, offset so that diagonal -maximalEdits - 1 is at index 0.
+        final int offset = maximalEdits + 1;
+        int[] furthestReaching = FURTHEST_REACHING_BUFFER.get();
+        if (furthestReaching.length < 2 * maximalEdits + 3)
+        {
+            furthestReaching = new int[Math.max(2 * maximalEdits + 3, furthestReaching.length * 2)];
+            FURTHEST_REACHING_BUFFER.set(furthestReaching);
+        }
+
+        //Only the diagonal read by the very first round needs a defined value, all others are written before they are read.
+        furthestReaching[offset + 1] = 0;
+
+        for (int edits = 0; edits <= maximalEdits; edits++)
+        {
+            for (int diagonal = -edits; diagonal <= edits; diagonal += 2)
+            {
+                int x;
+                if (diagonal == -edits || (diagonal != edits && furthestReaching[offset + diagonal - 1] < furthestReaching[offset + diagonal + 1]))
+                {
+                    x = furthestReaching[offset + diagonal + 1];
+                }
+                else
+                {
+                    x = furthestReaching[offset + diagonal - 1] + 1;
+                }
+
+                int y = x - diagonal;
+                while (x < leftLength && y < rightLength && left[x] == right[y])
+                {
+                    x++;
+                    y++;
+                }
+
+                furthestReaching[offset + diagonal] = x;
+                if (x >= leftLength && y >= rightLength)
+                {
+                    return edits;
+                }
+            }
+        }
+
+        return EXCEEDED;
+    }
+}
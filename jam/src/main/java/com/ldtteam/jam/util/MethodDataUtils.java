@@ -44,12 +44,7 @@ public class MethodDataUtils {
     }
 
     private static int parameterCount(final MethodData method) {
-        if (method.node().parameters != null)
-            return method.node().parameters.size();
-
-        final Type methodDescriptor = Type.getMethodType(method.node().desc);
-
-        return methodDescriptor.getArgumentTypes().length;
+        return MethodData.parameterCount(method.node());
     }
 
     public static Multimap<MethodData, MethodData> buildOverrideTree(final Map<MethodData, MethodData> methodsByRoot) {
@@ -20,24 +20,80 @@ public class SetsUtil
         throw new IllegalStateException("Can not instantiate an instance of: SetsUtil. This is a utility class");
     }
 
+    /**
+     * Orders classes by their name.
+     */
+    public static final Comparator<ClassData> CLASS_ORDER = (left, right) -> {
+        if (left == right)
+            return 0;
+
+        return left.node().name.compareTo(right.node().name);
+    };
+
+    /**
+     * Orders methods by the name of their owner, and then by their name and descriptor.
+     */
+    public static final Comparator<MethodData> METHOD_ORDER = (left, right) -> {
+        if (left == right)
+            return 0;
+
+        final int ownerComparison = left.owner().node().name.compareTo(right.owner().node().name);
+        if (ownerComparison != 0)
+            return ownerComparison;
+
+        return compareConcatenated(left.node().name, left.node().desc, right.node().name, right.node().desc);
+    };
+
+    /**
+     * Orders fields by the name of their owner, and then by their name and descriptor.
+     */
+    public static final Comparator<FieldData> FIELD_ORDER = (left, right) -> {
+        if (left == right)
+            return 0;
+
+        final int ownerComparison = left.owner().node().name.compareTo(right.owner().node().name);
+        if (ownerComparison != 0)
+            return ownerComparison;
+
+        return compareConcatenated(left.node().name, left.node().desc, right.node().name, right.node().desc);
+    };
+
+    /**
+     * Orders parameters by the name of the class and the name and descriptor of the method they belong to, and then by their index.
+     */
+    public static final Comparator<ParameterData> PARAMETER_ORDER = (left, right) -> {
+        if (left == right)
+            return 0;
+
+        final int classComparison = left.classOwner().node().name.compareTo(right.classOwner().node().name);
+        if (classComparison != 0)
+            return classComparison;
+
+        final int methodComparison = compareConcatenated(left.owner().node().name, left.owner().node().desc, right.owner().node().name, right.owner().node().desc);
+        if (methodComparison != 0)
+            return methodComparison;
+
+        return Integer.compare(left.index(), right.index());
+    };
+
     public static Collector<ClassData, ?, Set<ClassData>> classes()
     {
-        return Collectors.toCollection(() -> new TreeSet<>(Comparator.comparing(classData -> classData.node().name)));
+        return Collectors.toCollection(() -> new TreeSet<>(CLASS_ORDER));
     }
 
     public static Collector<MethodData, ?, Set<MethodData>> methods()
     {
-        return Collectors.toCollection(() -> new TreeSet<>(Comparator.<MethodData, String>comparing(data -> data.owner().node().name).thenComparing(data -> data.node().name + data.node().desc)));
+        return Collectors.toCollection(() -> new TreeSet<>(METHOD_ORDER));
     }
 
     public static Collector<FieldData, ?, Set<FieldData>> fields()
     {
-        return Collectors.toCollection(() -> new TreeSet<>(Comparator.<FieldData, String>comparing(data -> data.owner().node().name).thenComparing(data -> data.node().name + data.node().desc)));
+        return Collectors.toCollection(() -> new TreeSet<>(FIELD_ORDER));
     }
 
     public static Collector<ParameterData, ?, Set<ParameterData>> parameters()
     {
-        return Collectors.toCollection(() -> new TreeSet<>(Comparator.<ParameterData, String>comparing(data -> data.classOwner().node().name).thenComparing(data -> data.owner().node().name + data.owner().node().desc).thenComparing(ParameterData::index)));
+        return Collectors.toCollection(() -> new TreeSet<>(PARAMETER_ORDER));
     }
 
     public static <T> Set<T> cloneSet(final Set<T> set)
@@ -48,4 +104,25 @@ public class SetsUtil
 
         return Sets.newHashSet(set);
     }
+
+    /**
+     * Compares the concatenation of the first two strings with the concatenation of the last two strings, the same way
+     * {@link String#compareTo(String)} would, without allocating the concatenated strings.
+     */
+    private static int compareConcatenated(final String leftHead, final String leftTail, final String rightHead, final String rightTail)
+    {
+        final int leftLength = leftHead.length() + leftTail.length();
+        final int rightLength = rightHead.length() + rightTail.length();
+        final int length = Math.min(leftLength, rightLength);
+
+        for (int i = 0; i < length; i++)
+        {
+            final char left = i < leftHead.length() ? leftHead.charAt(i) : leftTail.charAt(i - leftHead.length());
+            final char right = i < rightHead.length() ? rightHead.charAt(i) : rightTail.charAt(i - rightHead.length());
+            if (left != right)
+                return left - right;
+        }
+
+        return leftLength - rightLength;
+    }
 }
@@ -0,0 +1,67 @@
+package com.ldtteam.jam.util;
+
+import java.util.Arrays;
+
+/**
+ * A disjoint set forest over the dense indices {@code 0} to {@code size - 1}.
+ * Uses union by size and path halving, which makes each operation run in near constant amortized time.
+ */
+public final class UnionFind
+{
+    private final int[] parents;
+    private final int[] sizes;
+
+    public UnionFind(final int size)
+    {
+        this.parents = new int[size];
+        this.sizes = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            parents[i] = i;
+        }
+        Arrays.fill(sizes, 1);
+    }
+
+    /**
+     * Finds the representative of the set which contains the given index.
+     *
+     * @param index The index to look up.
+     * @return The representative of the set of the index.
+     */
+    public int find(int index)
+    {
+        while (parents[index] != index)
+        {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+
+        return index;
+    }
+
+    /**
+     * Merges the sets which contain the given indices.
+     *
+     * @param left The first index.
+     * @param right The second index.
+     */
+    public void union(final int left, final int right)
+    {
+        int leftRoot = find(left);
+        int rightRoot = find(right);
+        if (leftRoot == rightRoot)
+        {
+            return;
+        }
+
+        if (sizes[leftRoot] < sizes[rightRoot])
+        {
+            final int swap = leftRoot;
+            leftRoot = rightRoot;
+            rightRoot = swap;
+        }
+
+        parents[rightRoot] = leftRoot;
+        sizes[leftRoot] += sizes[rightRoot];
+    }
+}
@@ -0,0 +1,57 @@
+package com.ldtteam.jam;
+
+import com.ldtteam.jam.spi.asm.ClassData;
+import com.ldtteam.jam.spi.asm.MethodData;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Builds the method data used by the tests, each method lives in its own class.
+ */
+public final class MethodDataFixtures
+{
+    private MethodDataFixtures()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: MethodDataFixtures. This is a utility class");
+    }
+
+    /**
+     * Creates a method of the class test with the given name and instructions.
+     *
+     * @param name    The name of the method.
+     * @param opcodes The opcodes of the instructions of the method, which all need to be operand free.
+     * @return The method.
+     */
+    public static MethodData method(final String name, final int... opcodes)
+    {
+        return method("test", name, opcodes);
+    }
+
+    /**
+     * Creates a method of the given class with the given name and instructions.
+     *
+     * @param owner   The name of the class of the method.
+     * @param name    The name of the method.
+     * @param opcodes The opcodes of the instructions of the method, which all need to be operand free.
+     * @return The method.
+     */
+    public static MethodData method(final String owner, final String name, final int... opcodes)
+    {
+        final ClassData classData = new ClassData(new ClassNode());
+        classData.node().name = owner;
+
+        final MethodNode node = new MethodNode();
+        node.name = name;
+        node.desc = "()V";
+        node.instructions = new InsnList();
+        for (final int opcode : opcodes)
+        {
+            node.instructions.add(new InsnNode(opcode));
+        }
+
+        classData.node().methods.add(node);
+        return new MethodData(classData, node);
+    }
+}
@@ -0,0 +1,152 @@
+package com.ldtteam.jam;
+
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+import com.google.common.collect.Sets;
+import com.ldtteam.jam.loader.ASMDataOrdinals;
+import com.ldtteam.jam.loader.LoadedASMData;
+import com.ldtteam.jam.spi.asm.ClassData;
+import com.ldtteam.jam.spi.asm.FieldData;
+import com.ldtteam.jam.spi.asm.MethodData;
+import com.ldtteam.jam.spi.asm.ParameterData;
+import com.ldtteam.jam.spi.configuration.MappingRuntimeConfiguration;
+import com.ldtteam.jam.spi.mapping.MappingResult;
+import com.ldtteam.jam.statistics.FuzzyMatchingStatistics;
+import com.ldtteam.jam.util.SetsUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.ParameterNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+class TransitionMappingCacheTest
+{
+
+    @Test
+    void readGivesTheWrittenTransition(@TempDir final Path cacheDirectory)
+    {
+        final LoadedASMData currentGen = version("current", 3);
+        final LoadedASMData nextGen = version("next", 3);
+        final ASMDataOrdinals current = currentGen.ordinals();
+        final ASMDataOrdinals next = nextGen.ordinals();
+
+        final JarMappingResult result = new JarMappingResult(
+          mappingResult(next.classes(), current.classes(), new TreeSet<>(SetsUtil.CLASS_ORDER), new TreeSet<>(SetsUtil.CLASS_ORDER)),
+          mappingResult(next.methods(), current.methods(), Sets.newHashSet(), Sets.newHashSet()),
+          mappingResult(next.fields(), current.fields(), Sets.newHashSet(), Sets.newHashSet()),
+          mappingResult(next.parameters(), current.parameters(), Sets.newHashSet(), Sets.newHashSet())
+        );
+
+        final Path cacheFile = cacheDirectory.resolve("transition.transition");
+        TransitionMappingCache.write(cacheFile, result);
+        final Optional<JarMappingResult> readResult = TransitionMappingCache.read(cacheFile, currentGen, nextGen);
+
+        Assertions.assertTrue(readResult.isPresent());
+        assertSameMappingResult(result.classes(), readResult.get().classes());
+        assertSameMappingResult(result.methods(), readResult.get().methods());
+        assertSameMappingResult(result.fields(), readResult.get().fields());
+        assertSameMappingResult(result.parameters(), readResult.get().parameters());
+    }
+
+    @Test
+    void unindexedDataIsNotWritten(@TempDir final Path cacheDirectory)
+    {
+        final ClassData unindexed = new ClassData(new ClassNode());
+        unindexed.node().name = "unindexed";
+        final MappingResult<ClassData> classes = new MappingResult<>(Sets.newHashSet(unindexed), HashBiMap.create(), Sets.newHashSet());
+
+        final Path cacheFile = cacheDirectory.resolve("transition.transition");
+        TransitionMappingCache.write(cacheFile, new JarMappingResult(classes, emptyResult(), emptyResult(), emptyResult()));
+
+        Assertions.assertFalse(Files.exists(cacheFile));
+    }
+
+    @Test
+    void invalidFilesAreIgnored(@TempDir final Path cacheDirectory) throws IOException
+    {
+        final Path cacheFile = cacheDirectory.resolve("transition.transition");
+        Files.write(cacheFile, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+        Assertions.assertTrue(TransitionMappingCache.read(cacheFile, version("current", 1), version("next", 1)).isEmpty());
+        Assertions.assertTrue(TransitionMappingCache.read(cacheDirectory.resolve("missing.transition"), version("current", 1), version("next", 1)).isEmpty());
+    }
+
+    @Test
+    void transitionsAreNotCachedWithoutAnImplementationVersion(@TempDir final Path cacheDirectory)
+    {
+        final MappingRuntimeConfiguration runtimeConfiguration = new MappingRuntimeConfiguration(null, null, null, null, Optional.of(new FuzzyMatchingStatistics()), Optional.of("runtime"));
+
+        Assertions.assertNull(TransitionMappingCache.class.getPackage().getImplementationVersion());
+        Assertions.assertTrue(TransitionMappingCache.locate(Optional.of(cacheDirectory), version("current", 1), version("next", 1), runtimeConfiguration).isEmpty());
+    }
+
+    private static <T> MappingResult<T> emptyResult()
+    {
+        return new MappingResult<>(Sets.newHashSet(), HashBiMap.create(), Sets.newHashSet());
+    }
+
+    //Maps the first element of both versions, and leaves the others unmapped.
+    private static <T> MappingResult<T> mappingResult(final List<T> sources, final List<T> candidates, final Set<T> unmappedSources, final Set<T> unmappedCandidates)
+    {
+        final BiMap<T, T> mappings = HashBiMap.create();
+        mappings.put(sources.get(0), candidates.get(0));
+        unmappedSources.addAll(sources.subList(1, sources.size()));
+        unmappedCandidates.addAll(candidates.subList(1, candidates.size()));
+        return new MappingResult<>(unmappedSources, mappings, unmappedCandidates);
+    }
+
+    private static <T> void assertSameMappingResult(final MappingResult<T> expected, final MappingResult<T> actual)
+    {
+        Assertions.assertEquals(expected.unmappedSources(), actual.unmappedSources());
+        Assertions.assertEquals(expected.mappings(), actual.mappings());
+        Assertions.assertEquals(expected.unmappedCandidates(), actual.unmappedCandidates());
+    }
+
+    //Every class has a single field, and a single method with a single parameter.
+    private static LoadedASMData version(final String name, final int classCount)
+    {
+        final List<ClassData> classes = new ArrayList<>();
+        final List<MethodData> methods = new ArrayList<>();
+        final List<FieldData> fields = new ArrayList<>();
+        final List<ParameterData> parameters = new ArrayList<>();
+
+        for (int ordinal = 0; ordinal < classCount; ordinal++)
+        {
+            final ClassNode classNode = new ClassNode();
+            classNode.name = name + "/Class" + ordinal;
+            classNode.fields.add(new FieldNode(Opcodes.ACC_PRIVATE, "field", "I", null, null));
+            final MethodNode methodNode = new MethodNode(Opcodes.ACC_PUBLIC, "method", "(I)V", null, null);
+            methodNode.parameters = new ArrayList<>(List.of(new ParameterNode("parameter", 0)));
+            classNode.methods.add(methodNode);
+
+            final ClassData classData = new ClassData(classNode, ordinal, ordinal, ordinal, ordinal);
+            final MethodData methodData = new MethodData(classData, methodNode);
+            classes.add(classData);
+            methods.add(methodData);
+            fields.add(new FieldData(classData, classNode.fields.get(0)));
+            parameters.add(new ParameterData(classData, methodData, methodNode.parameters.get(0), 0, "I"));
+        }
+
+        return new LoadedASMData(
+          name,
+          Sets.newHashSet(classes),
+          Sets.newHashSet(methods),
+          Sets.newHashSet(fields),
+          Sets.newHashSet(parameters),
+          new ASMDataOrdinals(classes, methods, fields, parameters),
+          Optional.of(name)
+        );
+    }
+}
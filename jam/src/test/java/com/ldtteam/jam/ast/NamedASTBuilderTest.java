@@ -0,0 +1,60 @@
+package com.ldtteam.jam.ast;
+
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
+import com.ldtteam.jam.MethodDataFixtures;
+import com.ldtteam.jam.spi.asm.MethodData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+class NamedASTBuilderTest
+{
+    private final NamedASTBuilder builder = (NamedASTBuilder) NamedASTBuilder.create(null, null, null);
+
+    @Test
+    void branchesLinkedByALaterBranchFormASingleTree()
+    {
+        final MethodData a = MethodDataFixtures.method("A", "method");
+        final MethodData b = MethodDataFixtures.method("B", "method");
+        final MethodData c = MethodDataFixtures.method("C", "method");
+        final MethodData d = MethodDataFixtures.method("D", "method");
+        final MethodData e = MethodDataFixtures.method("E", "method");
+
+        //The branch of c only shares a method with the tree of a after the branch of e has been merged into that tree.
+        final Multimap<MethodData, MethodData> overrides = LinkedHashMultimap.create();
+        overrides.putAll(a, Set.of(a, b));
+        overrides.putAll(c, Set.of(c, d));
+        overrides.putAll(e, Set.of(e, b, d));
+
+        Assertions.assertEquals(Set.of(Set.of(a, b, c, d, e)), builder.buildOverrideTrees(overrides));
+    }
+
+    @Test
+    void unrelatedBranchesFormSeparateTrees()
+    {
+        final MethodData a = MethodDataFixtures.method("A", "method");
+        final MethodData b = MethodDataFixtures.method("B", "method");
+        final MethodData c = MethodDataFixtures.method("C", "method");
+        final MethodData d = MethodDataFixtures.method("D", "method");
+
+        final Multimap<MethodData, MethodData> overrides = LinkedHashMultimap.create();
+        overrides.putAll(a, Set.of(a, b));
+        overrides.putAll(c, Set.of(c, d));
+
+        Assertions.assertEquals(Set.of(Set.of(a, b), Set.of(c, d)), builder.buildOverrideTrees(overrides));
+    }
+
+    @Test
+    void methodsWhichOnlyOverrideThemselvesFormNoTree()
+    {
+        final MethodData a = MethodDataFixtures.method("A", "method");
+
+        final Multimap<MethodData, MethodData> overrides = LinkedHashMultimap.create();
+        overrides.put(a, a);
+
+        Assertions.assertEquals(Sets.newHashSet(), builder.buildOverrideTrees(overrides));
+    }
+}
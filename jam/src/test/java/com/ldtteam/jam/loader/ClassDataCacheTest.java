@@ -0,0 +1,160 @@
+package com.ldtteam.jam.loader;
+
+import com.ldtteam.jam.spi.asm.ClassData;
+import com.ldtteam.jam.spi.name.IRemapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+class ClassDataCacheTest
+{
+
+    @Test
+    void readGivesTheWrittenClasses(@TempDir final Path cacheDirectory) throws IOException
+    {
+        final ClassData first = classData("a/First");
+        final ClassData second = classData("a/Second");
+        final Path cacheFile = ClassDataCache.locate(cacheDirectory, "key");
+
+        ClassDataCache.write(cacheFile, List.of(first, second));
+        final Optional<IClassFileSource> source = ClassDataCache.open(cacheFile);
+
+        Assertions.assertTrue(source.isPresent());
+        Assertions.assertEquals(List.of("a/First.class", "a/Second.class"), source.get().classFiles());
+        Assertions.assertArrayEquals(toByteArray(first), source.get().read("a/First.class"));
+        Assertions.assertArrayEquals(toByteArray(second), source.get().read("a/Second.class"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> source.get().read("a/Missing.class"));
+    }
+
+    @Test
+    void cacheFilesWithAnUnknownMagicNumberAreIgnored(@TempDir final Path cacheDirectory) throws IOException
+    {
+        final Path cacheFile = writtenCacheFile(cacheDirectory);
+        changeInt(cacheFile, 0);
+
+        Assertions.assertTrue(ClassDataCache.open(cacheFile).isEmpty());
+    }
+
+    @Test
+    void cacheFilesWithAnUnknownFormatVersionAreIgnored(@TempDir final Path cacheDirectory) throws IOException
+    {
+        final Path cacheFile = writtenCacheFile(cacheDirectory);
+        changeInt(cacheFile, 4);
+
+        Assertions.assertTrue(ClassDataCache.open(cacheFile).isEmpty());
+    }
+
+    @Test
+    void truncatedAndMissingCacheFilesAreIgnored(@TempDir final Path cacheDirectory) throws IOException
+    {
+        final Path cacheFile = writtenCacheFile(cacheDirectory);
+        final byte[] content = Files.readAllBytes(cacheFile);
+        Files.write(cacheFile, Arrays.copyOf(content, content.length - 1));
+
+        Assertions.assertTrue(ClassDataCache.open(cacheFile).isEmpty());
+        Assertions.assertTrue(ClassDataCache.open(cacheDirectory.resolve("missing.classes")).isEmpty());
+    }
+
+    @Test
+    void inputKeyChangesWithTheInputJar(@TempDir final Path directory) throws IOException
+    {
+        final Path inputPath = Files.write(directory.resolve("input.jar"), new byte[] { 1, 2, 3 });
+        final Optional<String> key = ClassDataCache.inputKey(inputPath, IRemapper.identity());
+
+        Assertions.assertTrue(key.isPresent());
+        Assertions.assertEquals(key, ClassDataCache.inputKey(Files.write(directory.resolve("copy.jar"), new byte[] { 1, 2, 3 }), IRemapper.identity()));
+
+        Files.write(inputPath, new byte[] { 1, 2, 4 });
+        Assertions.assertNotEquals(key, ClassDataCache.inputKey(inputPath, IRemapper.identity()));
+    }
+
+    @Test
+    void inputKeyChangesWithTheCacheKeyOfTheRemapper(@TempDir final Path directory) throws IOException
+    {
+        final Path inputPath = Files.write(directory.resolve("input.jar"), new byte[] { 1, 2, 3 });
+        final Optional<String> key = ClassDataCache.inputKey(inputPath, remapper(Optional.of("first")));
+
+        Assertions.assertTrue(key.isPresent());
+        Assertions.assertEquals(key, ClassDataCache.inputKey(inputPath, remapper(Optional.of("first"))));
+        Assertions.assertNotEquals(key, ClassDataCache.inputKey(inputPath, remapper(Optional.of("second"))));
+        Assertions.assertNotEquals(key, ClassDataCache.inputKey(inputPath, null));
+        Assertions.assertTrue(ClassDataCache.inputKey(inputPath, remapper(Optional.empty())).isEmpty());
+    }
+
+    @Test
+    void inputKeyChangesWithTheFormatVersion(@TempDir final Path directory) throws IOException
+    {
+        final Path inputPath = Files.write(directory.resolve("input.jar"), new byte[] { 1, 2, 3 });
+        final Optional<String> key = ClassDataCache.inputKey(inputPath, IRemapper.identity());
+
+        Assertions.assertEquals(key, ClassDataCache.inputKey(inputPath, IRemapper.identity(), ClassDataCache.FORMAT_VERSION));
+        Assertions.assertNotEquals(key, ClassDataCache.inputKey(inputPath, IRemapper.identity(), ClassDataCache.FORMAT_VERSION + 1));
+    }
+
+    @Test
+    void missingInputsHaveNoKey(@TempDir final Path directory)
+    {
+        Assertions.assertTrue(ClassDataCache.inputKey(directory.resolve("missing.jar"), IRemapper.identity()).isEmpty());
+        Assertions.assertTrue(ClassDataCache.inputKey(directory, IRemapper.identity()).isEmpty());
+    }
+
+    private static Path writtenCacheFile(final Path cacheDirectory)
+    {
+        final Path cacheFile = ClassDataCache.locate(cacheDirectory, "key");
+        ClassDataCache.write(cacheFile, List.of(classData("a/First")));
+        Assertions.assertTrue(ClassDataCache.open(cacheFile).isPresent());
+        return cacheFile;
+    }
+
+    private static void changeInt(final Path file, final int position) throws IOException
+    {
+        final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        content.putInt(position, content.getInt(position) + 1);
+        Files.write(file, content.array());
+    }
+
+    private static ClassData classData(final String name)
+    {
+        final ClassNode node = new ClassNode();
+        node.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        node.fields.add(new FieldNode(Opcodes.ACC_PRIVATE, "value", "I", null, null));
+        return new ClassData(node);
+    }
+
+    private static byte[] toByteArray(final ClassData classData)
+    {
+        final ClassWriter writer = new ClassWriter(0);
+        classData.node().accept(writer);
+        return writer.toByteArray();
+    }
+
+    //Only the cache key of the remapper is used by the cache, so all other calls are rejected.
+    private static IRemapper remapper(final Optional<String> cacheKey)
+    {
+        return (IRemapper) Proxy.newProxyInstance(
+          ClassDataCacheTest.class.getClassLoader(),
+          new Class<?>[] { IRemapper.class },
+          (proxy, method, arguments) -> {
+              if (method.getName().equals("cacheKey"))
+              {
+                  return cacheKey;
+              }
+
+              throw new UnsupportedOperationException(method.getName());
+          }
+        );
+    }
+}
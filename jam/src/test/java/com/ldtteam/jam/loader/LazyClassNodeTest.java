@@ -0,0 +1,264 @@
+package com.ldtteam.jam.loader;
+
+import com.ldtteam.jam.rename.EnhancedClassRemapper;
+import com.ldtteam.jam.spi.name.IRemapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.util.Textifier;
+import org.objectweb.asm.util.TraceMethodVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class LazyClassNodeTest
+{
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_DEBUG | ClassReader.EXPAND_FRAMES;
+
+    @Test
+    void materializedMethodsEqualAnEagerlyReadClass()
+    {
+        final byte[] classBytes = classBytes();
+        final ClassNode eager = eagerClassNode(classBytes, REMAPPER);
+        final LazyClassNode lazy = LazyClassNode.read(classBytes, REMAPPER, PARSING_OPTIONS);
+
+        Assertions.assertEquals("b/New", lazy.name);
+        Assertions.assertEquals(eager.methods.size(), lazy.methods.size());
+        for (int i = 0; i < eager.methods.size(); i++)
+        {
+            final MethodNode eagerMethod = eager.methods.get(i);
+            final MethodNode lazyMethod = lazy.methods.get(i);
+            Assertions.assertEquals(eagerMethod.name + eagerMethod.desc, lazyMethod.name + lazyMethod.desc);
+            Assertions.assertEquals(0, lazyMethod.instructions.size(), lazyMethod.name);
+
+            lazy.materialize(lazyMethod);
+            assertSameBody(eagerMethod, lazyMethod);
+        }
+    }
+
+    @Test
+    void methodsAreMaterializedWithoutARemapper()
+    {
+        final byte[] classBytes = classBytes();
+        final ClassNode eager = eagerClassNode(classBytes, null);
+        final LazyClassNode lazy = LazyClassNode.read(classBytes, null, PARSING_OPTIONS);
+
+        Assertions.assertEquals("a/Old", lazy.name);
+        for (int i = 0; i < eager.methods.size(); i++)
+        {
+            lazy.materialize(lazy.methods.get(i));
+            assertSameBody(eager.methods.get(i), lazy.methods.get(i));
+        }
+    }
+
+    @Test
+    void materializingAMethodAgainKeepsItsBody()
+    {
+        final LazyClassNode lazy = LazyClassNode.read(classBytes(), REMAPPER, PARSING_OPTIONS);
+        final MethodNode method = lazy.methods.get(1);
+
+        lazy.materialize(method);
+        final Object instructions = method.instructions;
+        lazy.materialize(method);
+
+        Assertions.assertSame(instructions, method.instructions);
+    }
+
+    @Test
+    void methodsOfOtherClassesAreRejected()
+    {
+        final LazyClassNode lazy = LazyClassNode.read(classBytes(), REMAPPER, PARSING_OPTIONS);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> lazy.materialize(new MethodNode(Opcodes.ACC_PUBLIC, "other", "()V", null, null)));
+    }
+
+    @Test
+    void concurrentMaterializationOfTheSameMethodGivesOneBody() throws Exception
+    {
+        final byte[] classBytes = classBytes();
+        final ClassNode eager = eagerClassNode(classBytes, REMAPPER);
+        final int threadCount = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try
+        {
+            for (int round = 0; round < 50; round++)
+            {
+                final LazyClassNode lazy = LazyClassNode.read(classBytes, REMAPPER, PARSING_OPTIONS);
+                final MethodNode method = lazy.methods.get(round % lazy.methods.size());
+                final CountDownLatch start = new CountDownLatch(1);
+
+                final List<Future<Object>> materialized = new ArrayList<>();
+                for (int thread = 0; thread < threadCount; thread++)
+                {
+                    materialized.add(executor.submit(() -> {
+                        start.await();
+                        lazy.materialize(method);
+                        return method.instructions;
+                    }));
+                }
+                start.countDown();
+
+                //Every thread needs to observe the body which remains on the method once all of them are done.
+                final List<Object> observedInstructions = new ArrayList<>();
+                for (final Future<Object> instructions : materialized)
+                {
+                    observedInstructions.add(instructions.get());
+                }
+                for (final Object instructions : observedInstructions)
+                {
+                    Assertions.assertSame(method.instructions, instructions);
+                }
+                assertSameBody(eager.methods.get(round % eager.methods.size()), method);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ClassNode eagerClassNode(final byte[] classBytes, final IRemapper remapper)
+    {
+        final ClassNode classNode = new ClassNode(Opcodes.ASM9);
+        new ClassReader(classBytes).accept(remapper == null ? classNode : new EnhancedClassRemapper(classNode, remapper), PARSING_OPTIONS);
+        return classNode;
+    }
+
+    private static void assertSameBody(final MethodNode expected, final MethodNode actual)
+    {
+        Assertions.assertEquals(text(expected), text(actual), actual.name);
+        Assertions.assertEquals(expected.tryCatchBlocks.size(), actual.tryCatchBlocks.size(), actual.name);
+        Assertions.assertEquals(expected.maxStack, actual.maxStack, actual.name);
+        Assertions.assertEquals(expected.maxLocals, actual.maxLocals, actual.name);
+    }
+
+    //The textual form contains the instructions, frames, try catch blocks and maxima, with consistently named labels.
+    private static String text(final MethodNode method)
+    {
+        final Textifier textifier = new Textifier();
+        method.accept(new TraceMethodVisitor(textifier));
+        final StringBuilder text = new StringBuilder();
+        textifier.getText().forEach(text::append);
+        return text.toString();
+    }
+
+    //A class with a loop, a try catch block and references to the class itself, so that frames and remapping matter.
+    private static byte[] classBytes()
+    {
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "a/Old", null, "java/lang/Object", null);
+        writer.visitField(Opcodes.ACC_STATIC, "field", "I", null, null).visitEnd();
+
+        final MethodVisitor count = writer.visitMethod(Opcodes.ACC_STATIC, "count", "(I)I", null, null);
+        final Label loop = new Label();
+        final Label end = new Label();
+        count.visitCode();
+        count.visitInsn(Opcodes.ICONST_0);
+        count.visitVarInsn(Opcodes.ISTORE, 1);
+        count.visitInsn(Opcodes.ICONST_0);
+        count.visitVarInsn(Opcodes.ISTORE, 2);
+        count.visitLabel(loop);
+        count.visitVarInsn(Opcodes.ILOAD, 2);
+        count.visitVarInsn(Opcodes.ILOAD, 0);
+        count.visitJumpInsn(Opcodes.IF_ICMPGE, end);
+        count.visitVarInsn(Opcodes.ILOAD, 1);
+        count.visitVarInsn(Opcodes.ILOAD, 2);
+        count.visitInsn(Opcodes.IADD);
+        count.visitVarInsn(Opcodes.ISTORE, 1);
+        count.visitIincInsn(2, 1);
+        count.visitJumpInsn(Opcodes.GOTO, loop);
+        count.visitLabel(end);
+        count.visitVarInsn(Opcodes.ILOAD, 1);
+        count.visitInsn(Opcodes.IRETURN);
+        count.visitMaxs(0, 0);
+        count.visitEnd();
+
+        final MethodVisitor call = writer.visitMethod(Opcodes.ACC_STATIC, "call", "()I", null, null);
+        final Label tryStart = new Label();
+        final Label tryEnd = new Label();
+        final Label handler = new Label();
+        call.visitCode();
+        call.visitTryCatchBlock(tryStart, tryEnd, handler, "java/lang/Exception");
+        call.visitLabel(tryStart);
+        call.visitMethodInsn(Opcodes.INVOKESTATIC, "a/Old", "helper", "()La/Old;", false);
+        call.visitInsn(Opcodes.POP);
+        call.visitLabel(tryEnd);
+        call.visitInsn(Opcodes.ICONST_0);
+        call.visitInsn(Opcodes.IRETURN);
+        call.visitLabel(handler);
+        call.visitInsn(Opcodes.POP);
+        call.visitFieldInsn(Opcodes.GETSTATIC, "a/Old", "field", "I");
+        call.visitInsn(Opcodes.IRETURN);
+        call.visitMaxs(0, 0);
+        call.visitEnd();
+
+        final MethodVisitor helper = writer.visitMethod(Opcodes.ACC_STATIC, "helper", "()La/Old;", null, null);
+        helper.visitCode();
+        helper.visitTypeInsn(Opcodes.NEW, "a/Old");
+        helper.visitInsn(Opcodes.ARETURN);
+        helper.visitMaxs(0, 0);
+        helper.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static final IRemapper REMAPPER = new IRemapper()
+    {
+        private final Map<String, String> names = Map.of("a/Old", "b/New", "helper", "renamedHelper", "field", "renamedField");
+
+        @Override
+        public Optional<String> remapClass(final String className)
+        {
+            return Optional.ofNullable(names.get(className));
+        }
+
+        @Override
+        public Optional<String> remapMethod(final String className, final String name, final String descriptor)
+        {
+            return Optional.ofNullable(names.get(name));
+        }
+
+        @Override
+        public Optional<String> remapDescriptor(final String descriptor)
+        {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<String> remapField(final String className, final String name, final String type)
+        {
+            return Optional.ofNullable(names.get(name));
+        }
+
+        @Override
+        public Optional<String> remapParameter(final String className, final String methodName, final String descriptor, final String parameterName, final int index)
+        {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<String> remapPackage(final String packageName)
+        {
+            return Optional.empty();
+        }
+
+        @Override
+        public IRemapper reverse()
+        {
+            throw new UnsupportedOperationException();
+        }
+    };
+}
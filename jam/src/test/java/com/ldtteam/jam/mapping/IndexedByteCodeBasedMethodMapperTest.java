@@ -0,0 +1,174 @@
+package com.ldtteam.jam.mapping;
+
+import com.ldtteam.jam.matching.instructionlist.DelegatingInstructionListMatcher;
+import com.ldtteam.jam.matching.instructionlist.DirectInstructionListMatcher;
+import com.ldtteam.jam.spi.asm.MethodData;
+import com.ldtteam.jam.spi.mapping.MappingResult;
+import com.ldtteam.jam.spi.matching.IMatcher;
+import com.ldtteam.jam.spi.matching.MatchingResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.ldtteam.jam.MethodDataFixtures.method;
+
+class IndexedByteCodeBasedMethodMapperTest
+{
+    private static final int MINIMAL_FUZZY_INSTRUCTION_COUNT = 2;
+
+    @Test
+    void exactMatchesTakePrecedenceOverEarlierFuzzyMatches()
+    {
+        final MethodData source = method("source", Opcodes.ICONST_0, Opcodes.IRETURN);
+        final MethodData fuzzyMatch = method("a", Opcodes.ICONST_0, Opcodes.ARETURN);
+        final MethodData exactMatch = method("b", Opcodes.ICONST_0, Opcodes.IRETURN);
+        final CountingMatcher matcher = new CountingMatcher();
+
+        final MappingResult<MethodData> terminating = IndexedByteCodeBasedMethodMapper.terminating(matcher, MINIMAL_FUZZY_INSTRUCTION_COUNT).map(methods(source), methods(fuzzyMatch, exactMatch));
+        final MappingResult<MethodData> exact = IndexedByteCodeBasedMethodMapper.exact(matcher, MINIMAL_FUZZY_INSTRUCTION_COUNT).map(methods(source), methods(fuzzyMatch, exactMatch));
+
+        Assertions.assertEquals(exactMatch, terminating.mappings().get(source));
+        Assertions.assertEquals(exactMatch, exact.mappings().get(source));
+        Assertions.assertEquals(0, matcher.matches);
+    }
+
+    @Test
+    void multipleExactMatchesAreAmbiguousUnlessTerminating()
+    {
+        final MethodData source = method("source", Opcodes.ICONST_0, Opcodes.IRETURN);
+        final MethodData firstMatch = method("a", Opcodes.ICONST_0, Opcodes.IRETURN);
+        final MethodData secondMatch = method("b", Opcodes.ICONST_0, Opcodes.IRETURN);
+        final CountingMatcher matcher = new CountingMatcher();
+
+        final MappingResult<MethodData> terminating = IndexedByteCodeBasedMethodMapper.terminating(matcher, MINIMAL_FUZZY_INSTRUCTION_COUNT).map(methods(source), methods(secondMatch, firstMatch));
+        final MappingResult<MethodData> exact = IndexedByteCodeBasedMethodMapper.exact(matcher, MINIMAL_FUZZY_INSTRUCTION_COUNT).map(methods(source), methods(secondMatch, firstMatch));
+
+        Assertions.assertEquals(firstMatch, terminating.mappings().get(source));
+        Assertions.assertTrue(exact.mappings().isEmpty());
+        Assertions.assertEquals(0, matcher.matches);
+    }
+
+    @Test
+    void sourcesWithoutAnExactMatchAreFuzzyMatchedAgainstLargeCandidates()
+    {
+        final MethodData source = method("source", Opcodes.ICONST_0, Opcodes.IRETURN);
+        final MethodData tooSmall = method("a", Opcodes.ICONST_0);
+        final MethodData firstMatch = method("b", Opcodes.ICONST_0, Opcodes.ARETURN);
+        final MethodData secondMatch = method("c", Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.ARETURN);
+        final MethodData noMatch = method("d", Opcodes.ICONST_1, Opcodes.IRETURN);
+        final Set<MethodData> candidates = methods(tooSmall, firstMatch, secondMatch, noMatch);
+
+        final CountingMatcher terminatingMatcher = new CountingMatcher();
+        final MappingResult<MethodData> terminating = IndexedByteCodeBasedMethodMapper.terminating(terminatingMatcher, MINIMAL_FUZZY_INSTRUCTION_COUNT).map(methods(source), candidates);
+        Assertions.assertEquals(firstMatch, terminating.mappings().get(source));
+        Assertions.assertEquals(1, terminatingMatcher.matches);
+
+        final CountingMatcher exactMatcher = new CountingMatcher();
+        final MappingResult<MethodData> exact = IndexedByteCodeBasedMethodMapper.exact(exactMatcher, MINIMAL_FUZZY_INSTRUCTION_COUNT).map(methods(source), candidates);
+        Assertions.assertTrue(exact.mappings().isEmpty());
+        Assertions.assertEquals(2, exactMatcher.matches);
+    }
+
+    @Test
+    void smallSourcesWithoutAnExactMatchAreNotFuzzyMatched()
+    {
+        final CountingMatcher matcher = new CountingMatcher();
+
+        final MappingResult<MethodData> result = IndexedByteCodeBasedMethodMapper.terminating(matcher, MINIMAL_FUZZY_INSTRUCTION_COUNT).map(
+          methods(method("source", Opcodes.ICONST_0)),
+          methods(method("a", Opcodes.ICONST_0, Opcodes.IRETURN), method("b", Opcodes.ICONST_1))
+        );
+
+        Assertions.assertTrue(result.mappings().isEmpty());
+        Assertions.assertEquals(0, matcher.matches);
+    }
+
+    @Test
+    void matchesLikeTheUnindexedMapperWithoutFuzzyMatches()
+    {
+        //Without fuzzy matches both mappers only find candidates with the same instructions, so the stages can not differ.
+        final IMatcher<InsnList> matcher = DirectInstructionListMatcher.create();
+        final Random random = new Random(42);
+        final int[] opcodes = { Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.IRETURN, Opcodes.ARETURN };
+
+        for (int round = 0; round < 200; round++)
+        {
+            final Set<MethodData> sources = randomMethods(random, opcodes, "source");
+            final Set<MethodData> candidates = randomMethods(random, opcodes, "candidate");
+
+            assertSameResult(
+              ByteCodeBasedMethodMapper.terminating(matcher).map(sources, candidates),
+              IndexedByteCodeBasedMethodMapper.terminating(matcher, MINIMAL_FUZZY_INSTRUCTION_COUNT).map(sources, candidates)
+            );
+            assertSameResult(
+              ByteCodeBasedMethodMapper.exact(matcher).map(sources, candidates),
+              IndexedByteCodeBasedMethodMapper.exact(matcher, MINIMAL_FUZZY_INSTRUCTION_COUNT).map(sources, candidates)
+            );
+        }
+    }
+
+    private static void assertSameResult(final MappingResult<MethodData> expected, final MappingResult<MethodData> actual)
+    {
+        Assertions.assertEquals(expected.mappings(), actual.mappings());
+        Assertions.assertEquals(expected.unmappedSources(), actual.unmappedSources());
+        Assertions.assertEquals(expected.unmappedCandidates(), actual.unmappedCandidates());
+    }
+
+    private static Set<MethodData> randomMethods(final Random random, final int[] opcodes, final String prefix)
+    {
+        final Set<MethodData> methods = methods();
+        final int count = 1 + random.nextInt(8);
+        for (int index = 0; index < count; index++)
+        {
+            final int[] instructions = new int[1 + random.nextInt(3)];
+            for (int instruction = 0; instruction < instructions.length; instruction++)
+            {
+                instructions[instruction] = opcodes[random.nextInt(opcodes.length)];
+            }
+
+            methods.add(method(prefix + index, instructions));
+        }
+
+        return methods;
+    }
+
+    //A tree set keeps the iteration order of the sources and candidates, also in the copies which the mappers make.
+    private static Set<MethodData> methods(final MethodData... methods)
+    {
+        final Set<MethodData> result = new TreeSet<>(Comparator.comparing(method -> method.node().name));
+        result.addAll(List.of(methods));
+        return result;
+    }
+
+    //Instruction lists which are large enough match fuzzily when they start with the same instruction.
+    private static final class CountingMatcher implements IMatcher<InsnList>
+    {
+        private final IMatcher<InsnList> matcher = DelegatingInstructionListMatcher.create(
+          DirectInstructionListMatcher.create(),
+          (left, right) -> {
+              if (left.size() < MINIMAL_FUZZY_INSTRUCTION_COUNT || right.size() < MINIMAL_FUZZY_INSTRUCTION_COUNT)
+              {
+                  return MatchingResult.UNKNOWN;
+              }
+
+              return left.getFirst().getOpcode() == right.getFirst().getOpcode() ? MatchingResult.MATCH : MatchingResult.UNKNOWN;
+          }
+        );
+
+        private int matches = 0;
+
+        @Override
+        public MatchingResult match(final InsnList left, final InsnList right)
+        {
+            matches++;
+            return matcher.match(left, right);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ldtteam.jam.mapping;
+
+import com.ldtteam.jam.spi.asm.MethodData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static com.ldtteam.jam.MethodDataFixtures.method;
+
+class MinHashCandidateIndexTest
+{
+    private static final int[] OPCODES = {
+      Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.ICONST_2, Opcodes.ICONST_3, Opcodes.ICONST_4, Opcodes.ICONST_5,
+      Opcodes.IADD, Opcodes.ISUB, Opcodes.IMUL, Opcodes.IDIV, Opcodes.IREM, Opcodes.INEG,
+      Opcodes.DUP, Opcodes.POP, Opcodes.SWAP, Opcodes.IAND, Opcodes.IOR, Opcodes.IXOR
+    };
+
+    private static final int BODY_SIZE       = 60;
+    private static final int CANDIDATE_COUNT = 200;
+    private static final int LIMIT           = 5;
+
+    @Test
+    void identicalBodiesSurviveTheQuery()
+    {
+        final Random random = new Random(42);
+        for (int round = 0; round < 50; round++)
+        {
+            final int[] body = randomBody(random);
+            final MethodData identical = method("identical", body);
+
+            assertSurvives(random, method("source", body), identical);
+        }
+    }
+
+    @Test
+    void nearIdenticalBodiesSurviveTheQuery()
+    {
+        final Random random = new Random(42);
+        for (int round = 0; round < 50; round++)
+        {
+            final int[] body = randomBody(random);
+            final int[] changedBody = body.clone();
+            changedBody[random.nextInt(BODY_SIZE)] = Opcodes.NOP;
+            final MethodData nearIdentical = method("nearIdentical", changedBody);
+
+            assertSurvives(random, method("source", body), nearIdentical);
+        }
+    }
+
+    @Test
+    void candidatesWhichAreNoLongerAvailableAreIgnored()
+    {
+        final Random random = new Random(42);
+        final int[] body = randomBody(random);
+        final MethodData identical = method("identical", body);
+        final MinHashCandidateIndex index = new MinHashCandidateIndex(List.of(identical));
+
+        Assertions.assertEquals(List.of(identical), index.query(method("source", body), new HashSet<>(List.of(identical)), LIMIT));
+        Assertions.assertEquals(List.of(), index.query(method("source", body), new HashSet<>(), LIMIT));
+    }
+
+    private static void assertSurvives(final Random random, final MethodData source, final MethodData similar)
+    {
+        final List<MethodData> candidates = new ArrayList<>();
+        for (int candidate = 0; candidate < CANDIDATE_COUNT; candidate++)
+        {
+            candidates.add(method("candidate" + candidate, randomBody(random)));
+        }
+        candidates.add(random.nextInt(candidates.size()), similar);
+
+        final MinHashCandidateIndex index = new MinHashCandidateIndex(candidates);
+        final List<MethodData> similarCandidates = index.query(source, new HashSet<>(candidates), LIMIT);
+
+        Assertions.assertTrue(similarCandidates.contains(similar));
+        Assertions.assertTrue(similarCandidates.size() <= LIMIT);
+    }
+
+    private static int[] randomBody(final Random random)
+    {
+        final int[] body = new int[BODY_SIZE];
+        for (int instruction = 0; instruction < BODY_SIZE; instruction++)
+        {
+            body[instruction] = OPCODES[random.nextInt(OPCODES.length)];
+        }
+
+        return body;
+    }
+}
@@ -0,0 +1,114 @@
+package com.ldtteam.jam.matching.instructionlist;
+
+import com.ldtteam.jam.spi.matching.IMatcher;
+import com.ldtteam.jam.spi.matching.MatchingResult;
+import com.ldtteam.jam.statistics.FuzzyMatchingStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+
+import java.util.Map;
+
+class DiffBasedInstructionListMatcherTest
+{
+
+    @Test
+    void differentInstructionsOnlyMatchWithoutThreshold()
+    {
+        final InsnList left = instructions(Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.IADD, Opcodes.IRETURN);
+        final InsnList right = instructions(Opcodes.ICONST_0, Opcodes.ICONST_2, Opcodes.IADD, Opcodes.IRETURN);
+
+        Assertions.assertEquals(MatchingResult.MATCH, DiffBasedInstructionListMatcher.create(Map.of(0, 0f), 1).match(left, right));
+        Assertions.assertEquals(MatchingResult.UNKNOWN, DiffBasedInstructionListMatcher.create(Map.of(0, 1f), 1).match(left, right));
+        Assertions.assertEquals(MatchingResult.UNKNOWN, DiffBasedInstructionListMatcher.create(Map.of(), 1).match(left, right));
+    }
+
+    @Test
+    void equalInstructionsNeverMatch()
+    {
+        final InsnList left = instructions(Opcodes.ICONST_0, Opcodes.IRETURN);
+        final InsnList right = instructions(Opcodes.ICONST_0, Opcodes.IRETURN);
+
+        Assertions.assertEquals(MatchingResult.UNKNOWN, DiffBasedInstructionListMatcher.create(Map.of(0, 0f), 1).match(left, right));
+    }
+
+    @Test
+    void thresholdIsSelectedByTheLargerInstructionList()
+    {
+        final IMatcher<InsnList> matcher = DiffBasedInstructionListMatcher.create(Map.of(0, 50f, 3, 0f), 1);
+
+        Assertions.assertEquals(MatchingResult.UNKNOWN, matcher.match(instructions(Opcodes.ICONST_0, Opcodes.IRETURN), instructions(Opcodes.ICONST_1, Opcodes.IRETURN)));
+        Assertions.assertEquals(MatchingResult.MATCH, matcher.match(instructions(Opcodes.ICONST_0, Opcodes.IRETURN), instructions(Opcodes.ICONST_1, Opcodes.ICONST_2, Opcodes.IADD, Opcodes.IRETURN)));
+    }
+
+    @Test
+    void smallInstructionListsAreUnknown()
+    {
+        final IMatcher<InsnList> matcher = DiffBasedInstructionListMatcher.create(Map.of(0, 0f), 3);
+
+        Assertions.assertEquals(MatchingResult.UNKNOWN, matcher.match(instructions(Opcodes.ICONST_0, Opcodes.IRETURN), instructions(Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.IRETURN)));
+        Assertions.assertEquals(MatchingResult.UNKNOWN, matcher.match(instructions(Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.IRETURN), instructions(Opcodes.ICONST_0, Opcodes.IRETURN)));
+    }
+
+    @Test
+    void editDistanceMatchesUpToTheThreshold()
+    {
+        //Replacing a single instruction takes a deletion and an insertion, so the similarity is 100 * (1 - 2 / 8) = 75.
+        final InsnList left = instructions(Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.IADD, Opcodes.IRETURN);
+        final InsnList right = instructions(Opcodes.ICONST_0, Opcodes.ICONST_2, Opcodes.IADD, Opcodes.IRETURN);
+
+        Assertions.assertEquals(MatchingResult.MATCH, DiffBasedInstructionListMatcher.editDistance(Map.of(0, 75f), 1, new FuzzyMatchingStatistics()).match(left, right));
+        Assertions.assertEquals(MatchingResult.UNKNOWN, DiffBasedInstructionListMatcher.editDistance(Map.of(0, 76f), 1, new FuzzyMatchingStatistics()).match(left, right));
+        Assertions.assertEquals(MatchingResult.MATCH, DiffBasedInstructionListMatcher.editDistance(Map.of(0, 75f), 1, InstructionListTokenizer.create(), new FuzzyMatchingStatistics()).match(left, right));
+        Assertions.assertEquals(MatchingResult.UNKNOWN, DiffBasedInstructionListMatcher.editDistance(Map.of(0, 76f), 1, InstructionListTokenizer.create(), new FuzzyMatchingStatistics()).match(left, right));
+    }
+
+    @Test
+    void editDistanceMatchesEqualInstructions()
+    {
+        final InsnList left = instructions(Opcodes.ICONST_0, Opcodes.IRETURN);
+        final InsnList right = instructions(Opcodes.ICONST_0, Opcodes.IRETURN);
+
+        Assertions.assertEquals(MatchingResult.MATCH, DiffBasedInstructionListMatcher.editDistance(Map.of(0, 100f), 1, new FuzzyMatchingStatistics()).match(left, right));
+    }
+
+    @Test
+    void editDistanceRejectsDifferentSizesAndOpcodes()
+    {
+        //Both pairs need 4 edits out of 8 instructions, which is a similarity of 50.
+        final FuzzyMatchingStatistics statistics = new FuzzyMatchingStatistics();
+        final IMatcher<InsnList> matcher = DiffBasedInstructionListMatcher.editDistance(Map.of(0, 51f), 1, statistics);
+
+        Assertions.assertEquals(MatchingResult.UNKNOWN, matcher.match(
+          instructions(Opcodes.ICONST_0, Opcodes.IRETURN),
+          instructions(Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.IADD, Opcodes.ICONST_2, Opcodes.IADD, Opcodes.IRETURN)
+        ));
+        Assertions.assertEquals(MatchingResult.UNKNOWN, matcher.match(
+          instructions(Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.IADD, Opcodes.IRETURN),
+          instructions(Opcodes.ICONST_0, Opcodes.ICONST_2, Opcodes.ISUB, Opcodes.IRETURN)
+        ));
+        Assertions.assertEquals(1, statistics.getRejectedByInstructionCount());
+        Assertions.assertEquals(1, statistics.getRejectedByOpcodeHistogram());
+        Assertions.assertEquals(0, statistics.getDiffed());
+
+        Assertions.assertEquals(MatchingResult.MATCH, DiffBasedInstructionListMatcher.editDistance(Map.of(0, 50f), 1, statistics).match(
+          instructions(Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.IADD, Opcodes.IRETURN),
+          instructions(Opcodes.ICONST_0, Opcodes.ICONST_2, Opcodes.ISUB, Opcodes.IRETURN)
+        ));
+        Assertions.assertEquals(1, statistics.getDiffed());
+        Assertions.assertEquals(1, statistics.getMatched());
+    }
+
+    static InsnList instructions(final int... opcodes)
+    {
+        final InsnList instructions = new InsnList();
+        for (final int opcode : opcodes)
+        {
+            instructions.add(new InsnNode(opcode));
+        }
+
+        return instructions;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ldtteam.jam.matching.instructionlist;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.MethodInsnNode;
+
+import static com.ldtteam.jam.matching.instructionlist.DiffBasedInstructionListMatcherTest.instructions;
+
+class InstructionListTokenizerTest
+{
+
+    @Test
+    void sameInstructionsGetTheSameTokens()
+    {
+        final InstructionListTokenizer tokenizer = InstructionListTokenizer.create();
+
+        final InstructionListTokens left = tokenizer.tokenize(instructions(Opcodes.ICONST_0, Opcodes.IRETURN));
+        final InstructionListTokens right = tokenizer.tokenize(instructions(Opcodes.ICONST_0, Opcodes.IRETURN));
+        final InstructionListTokens other = tokenizer.tokenize(instructions(Opcodes.ICONST_1, Opcodes.IRETURN));
+
+        Assertions.assertTrue(left.isSameAs(right));
+        Assertions.assertFalse(left.isSameAs(other));
+        Assertions.assertEquals(left.tokens()[1], other.tokens()[1]);
+    }
+
+    @Test
+    void referencedMembersAreDistinguished()
+    {
+        final InstructionListTokenizer tokenizer = InstructionListTokenizer.create();
+
+        final InsnList left = new InsnList();
+        left.add(new MethodInsnNode(Opcodes.INVOKESTATIC, "a", "b", "()V", false));
+        final InsnList right = new InsnList();
+        right.add(new MethodInsnNode(Opcodes.INVOKESTATIC, "a", "c", "()V", false));
+
+        Assertions.assertFalse(tokenizer.tokenize(left).isSameAs(tokenizer.tokenize(right)));
+    }
+
+    @Test
+    void tokensAreCachedPerInstructionList()
+    {
+        final InstructionListTokenizer tokenizer = InstructionListTokenizer.create();
+        final InsnList instructions = instructions(Opcodes.ICONST_0, Opcodes.IRETURN);
+
+        Assertions.assertSame(tokenizer.tokenize(instructions), tokenizer.tokenize(instructions));
+        Assertions.assertNotSame(tokenizer.tokenize(instructions), InstructionListTokenizer.create().tokenize(instructions));
+    }
+
+    @Test
+    void tokenizersAssignTheirOwnTokenIds()
+    {
+        final InstructionListTokenizer tokenizer = InstructionListTokenizer.create();
+        tokenizer.tokenize(instructions(Opcodes.ICONST_0, Opcodes.ICONST_1, Opcodes.IADD));
+
+        Assertions.assertArrayEquals(new int[] { 0 }, InstructionListTokenizer.create().tokenize(instructions(Opcodes.IRETURN)).tokens());
+        Assertions.assertArrayEquals(new int[] { 3 }, tokenizer.tokenize(instructions(Opcodes.IRETURN)).tokens());
+    }
+}
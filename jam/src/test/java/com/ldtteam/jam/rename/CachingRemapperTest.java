@@ -0,0 +1,163 @@
+package com.ldtteam.jam.rename;
+
+import com.ldtteam.jam.spi.name.IRemapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class CachingRemapperTest
+{
+
+    @Test
+    void cachedResultsEqualTheResultsOfTheDelegate()
+    {
+        final CountingRemapper delegate = new CountingRemapper("forward");
+        final IRemapper remapper = CachingRemapper.create(delegate);
+
+        Assertions.assertEquals(delegate.remapClass("a/A"), remapper.remapClass("a/A"));
+        Assertions.assertEquals(delegate.remapClass("a/A"), remapper.remapClass("a/A"));
+        Assertions.assertEquals(delegate.remapDescriptor("(La/A;)V"), remapper.remapDescriptor("(La/A;)V"));
+        Assertions.assertEquals(delegate.remapDescriptor("(La/A;)V"), remapper.remapDescriptor("(La/A;)V"));
+        Assertions.assertEquals(Optional.empty(), remapper.remapClass("a/Unmapped"));
+        Assertions.assertEquals(Optional.empty(), remapper.remapDescriptor("unmapped"));
+        Assertions.assertEquals(delegate.cacheKey(), remapper.cacheKey());
+    }
+
+    @Test
+    void classesAndDescriptorsAreOnlyRemappedOnce()
+    {
+        final CountingRemapper delegate = new CountingRemapper("forward");
+        final IRemapper remapper = CachingRemapper.create(delegate);
+
+        final String remappedClass = remapper.remapClass("a/A").orElseThrow();
+        final String remappedDescriptor = remapper.remapDescriptor("(La/A;)V").orElseThrow();
+        Assertions.assertSame(remappedClass, remapper.remapClass("a/A").orElseThrow());
+        Assertions.assertSame(remappedDescriptor, remapper.remapDescriptor("(La/A;)V").orElseThrow());
+        remapper.remapClass("a/Unmapped");
+        remapper.remapClass("a/Unmapped");
+
+        Assertions.assertEquals(List.of("class a/A", "descriptor (La/A;)V", "class a/Unmapped"), delegate.calls);
+    }
+
+    @Test
+    void equalResultsOfDifferentRemappersShareOneInstance()
+    {
+        final IRemapper first = CachingRemapper.create(new CountingRemapper("forward"));
+        final IRemapper second = CachingRemapper.create(new CountingRemapper("forward"));
+
+        Assertions.assertSame(first.remapClass("a/A").orElseThrow(), second.remapClass("a/A").orElseThrow());
+        Assertions.assertSame(first.remapDescriptor("(La/A;)V").orElseThrow(), second.remapDescriptor("(La/A;)V").orElseThrow());
+    }
+
+    @Test
+    void uncachedRemappingsAreAlwaysPassedToTheDelegate()
+    {
+        final CountingRemapper delegate = new CountingRemapper("forward");
+        final IRemapper remapper = CachingRemapper.create(delegate);
+
+        for (int i = 0; i < 2; i++)
+        {
+            Assertions.assertEquals(Optional.of("method_m"), remapper.remapMethod("a/A", "m", "()V"));
+            Assertions.assertEquals(Optional.of("field_f"), remapper.remapField("a/A", "f", "I"));
+            Assertions.assertEquals(Optional.of("package_a"), remapper.remapPackage("a"));
+            Assertions.assertEquals(Optional.of("parameter_p"), remapper.remapParameter("a/A", "m", "(I)V", "p", 0));
+        }
+
+        Assertions.assertEquals(List.of(
+          "method a/A.m()V", "field a/A.f", "package a", "parameter a/A.m(I)V p",
+          "method a/A.m()V", "field a/A.f", "package a", "parameter a/A.m(I)V p"
+        ), delegate.calls);
+    }
+
+    @Test
+    void reverseCachesTheReverseOfTheDelegate()
+    {
+        final CountingRemapper delegate = new CountingRemapper("forward");
+        final IRemapper reverse = CachingRemapper.create(delegate).reverse();
+
+        Assertions.assertTrue(reverse instanceof CachingRemapper);
+        Assertions.assertSame(delegate.reversed, ((CachingRemapper) reverse).delegate());
+        Assertions.assertEquals(List.of("reverse"), delegate.calls);
+
+        reverse.remapClass("a/A");
+        reverse.remapClass("a/A");
+        Assertions.assertEquals(List.of("class a/A"), delegate.reversed.calls);
+    }
+
+    @Test
+    void cachingRemappersAreNotWrappedAgain()
+    {
+        final IRemapper remapper = CachingRemapper.create(new CountingRemapper("forward"));
+
+        Assertions.assertSame(remapper, CachingRemapper.create(remapper));
+    }
+
+    //Every result is a new string instance, so that interning by the caching remapper can be observed.
+    private static final class CountingRemapper implements IRemapper
+    {
+        private final String       name;
+        private final List<String> calls = new ArrayList<>();
+        private CountingRemapper   reversed;
+
+        private CountingRemapper(final String name) {this.name = name;}
+
+        @Override
+        public Optional<String> remapClass(final String className)
+        {
+            calls.add("class " + className);
+            return className.equals("a/Unmapped") ? Optional.empty() : Optional.of(new String("b/" + className.substring(2)));
+        }
+
+        @Override
+        public Optional<String> remapMethod(final String className, final String name, final String descriptor)
+        {
+            calls.add("method " + className + "." + name + descriptor);
+            return Optional.of("method_" + name);
+        }
+
+        @Override
+        public Optional<String> remapDescriptor(final String descriptor)
+        {
+            calls.add("descriptor " + descriptor);
+            return descriptor.equals("unmapped") ? Optional.empty() : Optional.of(new String(descriptor.replace("La/", "Lb/")));
+        }
+
+        @Override
+        public Optional<String> remapField(final String className, final String name, final String type)
+        {
+            calls.add("field " + className + "." + name);
+            return Optional.of("field_" + name);
+        }
+
+        @Override
+        public Optional<String> remapParameter(final String className, final String methodName, final String descriptor, final String parameterName, final int index)
+        {
+            calls.add("parameter " + className + "." + methodName + descriptor + " " + parameterName);
+            return Optional.of("parameter_" + parameterName);
+        }
+
+        @Override
+        public Optional<String> remapPackage(final String packageName)
+        {
+            calls.add("package " + packageName);
+            return Optional.of("package_" + packageName);
+        }
+
+        @Override
+        public IRemapper reverse()
+        {
+            calls.add("reverse");
+            reversed = new CountingRemapper("reverse");
+            return reversed;
+        }
+
+        @Override
+        public Optional<String> cacheKey()
+        {
+            return Optional.of(name);
+        }
+    }
+}
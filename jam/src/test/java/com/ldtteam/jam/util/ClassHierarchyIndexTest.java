@@ -0,0 +1,72 @@
+package com.ldtteam.jam.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class ClassHierarchyIndexTest
+{
+
+    @Test
+    void diamondHierarchiesListSharedAncestorsOnce()
+    {
+        //D extends B and implements C, both B and C implement A.
+        final ClassHierarchyIndex<TestClass> index = index(
+          new TestClass("A", null),
+          new TestClass("B", null, "A"),
+          new TestClass("C", null, "A"),
+          new TestClass("D", "B", "C")
+        );
+
+        Assertions.assertEquals(List.of("D", "B", "A", "C"), names(index.ancestorsOf("D")));
+        Assertions.assertEquals(List.of("B", "A"), names(index.ancestorsOf("B")));
+        Assertions.assertEquals(List.of("A"), names(index.ancestorsOf("A")));
+    }
+
+    @Test
+    void cyclicHierarchiesTerminate()
+    {
+        final ClassHierarchyIndex<TestClass> index = index(
+          new TestClass("A", "B"),
+          new TestClass("B", "C"),
+          new TestClass("C", "A"),
+          new TestClass("D", "A")
+        );
+
+        //The cycle is entered at A, the first class, so the super class of C, which closes the cycle, is ignored.
+        Assertions.assertEquals(List.of("A", "B", "C"), names(index.ancestorsOf("A")));
+        Assertions.assertEquals(List.of("B", "C"), names(index.ancestorsOf("B")));
+        Assertions.assertEquals(List.of("C"), names(index.ancestorsOf("C")));
+        Assertions.assertEquals(List.of("D", "A", "B", "C"), names(index.ancestorsOf("D")));
+    }
+
+    @Test
+    void unknownClassesAreNotPartOfTheHierarchy()
+    {
+        final ClassHierarchyIndex<TestClass> index = index(
+          new TestClass("A", "java/lang/Object", "java/lang/Runnable")
+        );
+
+        Assertions.assertEquals(List.of("A"), names(index.ancestorsOf("A")));
+        Assertions.assertEquals(List.of(), index.ancestorsOf("java/lang/Object"));
+    }
+
+    private static ClassHierarchyIndex<TestClass> index(final TestClass... classes)
+    {
+        return ClassHierarchyIndex.create(List.of(classes), TestClass::name, TestClass::superName, TestClass::interfaces);
+    }
+
+    private static List<String> names(final List<TestClass> classes)
+    {
+        return classes.stream().map(TestClass::name).toList();
+    }
+
+    private record TestClass(String name, String superName, List<String> interfaces)
+    {
+        private TestClass(final String name, final String superName, final String... interfaces)
+        {
+            this(name, superName, List.of(interfaces));
+        }
+    }
+}
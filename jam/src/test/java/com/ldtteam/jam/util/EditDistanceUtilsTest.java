@@ -0,0 +1,74 @@
+package com.ldtteam.jam.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class EditDistanceUtilsTest
+{
+
+    @Test
+    void emptySequences()
+    {
+        assertDistance(0, new int[0], new int[0], 0);
+        assertDistance(2, new int[0], new int[] { 1, 2 }, 2);
+        assertDistance(2, new int[] { 1, 2 }, new int[0], 2);
+        assertDistance(EditDistanceUtils.EXCEEDED, new int[0], new int[] { 1, 2 }, 1);
+    }
+
+    @Test
+    void distanceAtTheBoundIsFound()
+    {
+        final int[] left = { 1, 2, 3 };
+        final int[] right = { 1, 3, 4 };
+
+        assertDistance(2, left, right, 3);
+        assertDistance(2, left, right, 2);
+        assertDistance(EditDistanceUtils.EXCEEDED, left, right, 1);
+    }
+
+    @Test
+    void exceededWithoutSearching()
+    {
+        assertDistance(EditDistanceUtils.EXCEEDED, new int[] { 1 }, new int[] { 1 }, -1);
+        assertDistance(EditDistanceUtils.EXCEEDED, new int[] { 1 }, new int[] { 1, 2, 3, 4 }, 2);
+    }
+
+    @Test
+    void matchesTheLongestCommonSubsequence()
+    {
+        final Random random = new Random(42);
+        for (int round = 0; round < 500; round++)
+        {
+            final int[] left = random.ints(random.nextInt(12), 0, 3).toArray();
+            final int[] right = random.ints(random.nextInt(12), 0, 3).toArray();
+            final int distance = left.length + right.length - 2 * longestCommonSubsequence(left, right);
+
+            assertDistance(distance, left, right, distance);
+            assertDistance(distance, left, right, distance + 1);
+            assertDistance(EditDistanceUtils.EXCEEDED, left, right, distance - 1);
+        }
+    }
+
+    private static void assertDistance(final int expected, final int[] left, final int[] right, final int maximalEdits)
+    {
+        Assertions.assertEquals(expected, EditDistanceUtils.boundedEditDistance(left, right, maximalEdits));
+    }
+
+    private static int longestCommonSubsequence(final int[] left, final int[] right)
+    {
+        final int[][] lengths = new int[left.length + 1][right.length + 1];
+        for (int leftIndex = 1; leftIndex <= left.length; leftIndex++)
+        {
+            for (int rightIndex = 1; rightIndex <= right.length; rightIndex++)
+            {
+                lengths[leftIndex][rightIndex] = left[leftIndex - 1] == right[rightIndex - 1] ?
+                                                   lengths[leftIndex - 1][rightIndex - 1] + 1 :
+                                                   Math.max(lengths[leftIndex - 1][rightIndex], lengths[leftIndex][rightIndex - 1]);
+            }
+        }
+
+        return lengths[left.length][right.length];
+    }
+}
@@ -0,0 +1,73 @@
+package com.ldtteam.jam.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class UnionFindTest
+{
+
+    @Test
+    void everyIndexStartsInItsOwnSet()
+    {
+        final UnionFind unionFind = new UnionFind(4);
+
+        for (int index = 0; index < 4; index++)
+        {
+            Assertions.assertEquals(index, unionFind.find(index));
+        }
+    }
+
+    @Test
+    void unionMergesTransitively()
+    {
+        final UnionFind unionFind = new UnionFind(6);
+        unionFind.union(0, 1);
+        unionFind.union(2, 3);
+        unionFind.union(1, 3);
+        unionFind.union(3, 0);
+
+        Assertions.assertEquals(unionFind.find(0), unionFind.find(2));
+        Assertions.assertEquals(unionFind.find(1), unionFind.find(3));
+        Assertions.assertNotEquals(unionFind.find(0), unionFind.find(4));
+        Assertions.assertNotEquals(unionFind.find(4), unionFind.find(5));
+    }
+
+    @Test
+    void matchesNaiveSetMerging()
+    {
+        final Random random = new Random(42);
+        final int size = 50;
+        final UnionFind unionFind = new UnionFind(size);
+        final int[] labels = new int[size];
+        for (int index = 0; index < size; index++)
+        {
+            labels[index] = index;
+        }
+
+        for (int union = 0; union < 40; union++)
+        {
+            final int left = random.nextInt(size);
+            final int right = random.nextInt(size);
+            unionFind.union(left, right);
+
+            final int oldLabel = labels[right];
+            for (int index = 0; index < size; index++)
+            {
+                if (labels[index] == oldLabel)
+                {
+                    labels[index] = labels[left];
+                }
+            }
+
+            for (int index = 0; index < size; index++)
+            {
+                for (int other = 0; other < size; other++)
+                {
+                    Assertions.assertEquals(labels[index] == labels[other], unionFind.find(index) == unionFind.find(other));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.ldtteam.jam.neoform;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.machinezoo.noexception.Exceptions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads MappingToy metadata files lazily.
+ * <p>
+ * The file is memory mapped and scanned once to find the byte range of the value of every class. A class is only
+ * decoded when it is looked up, so neither the content of the file as a string, nor the classes which are never used,
+ * need to be kept in memory.
+ */
+public final class LazyMappingToyMetadataLoader
+{
+
+    private LazyMappingToyMetadataLoader()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: LazyMappingToyMetadataLoader. This is a utility class");
+    }
+
+    /**
+     * Indexes the given metadata file, and gives a map which decodes the classes on demand.
+     *
+     * @param metadataFile The metadata file.
+     * @param gson The gson instance used to decode the classes.
+     * @return The classes of the metadata file by name.
+     */
+    public static Map<String, MappingToyMetadata.ClassInfo> load(final Path metadataFile, final Gson gson)
+    {
+        final ByteBuffer content = Exceptions.sneak().get(() -> {
+            try (final FileChannel channel = FileChannel.open(metadataFile, StandardOpenOption.READ))
+            {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        });
+
+        return new LazyClassInfoMap(content, new Scanner(content, gson).indexClasses(), gson);
+    }
+
+    private record ValueRange(int start, int end) {}
+
+    private static final class LazyClassInfoMap extends AbstractMap<String, MappingToyMetadata.ClassInfo>
+    {
+        //A class without any data is stored as this marker, because the decoded cache does not accept null values.
+        private static final MappingToyMetadata.ClassInfo NO_CLASS_INFO = new MappingToyMetadata.ClassInfo();
+
+        private final ByteBuffer                                  content;
+        private final Map<String, ValueRange>                     rangesByName;
+        private final Gson                                        gson;
+        private final Map<String, MappingToyMetadata.ClassInfo> decodedClasses = new ConcurrentHashMap<>();
+
+        private LazyClassInfoMap(final ByteBuffer content, final Map<String, ValueRange> rangesByName, final Gson gson)
+        {
+            this.content = content;
+            this.rangesByName = rangesByName;
+            this.gson = gson;
+        }
+
+        @Override
+        public boolean containsKey(final Object key)
+        {
+            return rangesByName.containsKey(key);
+        }
+
+        @Override
+        public MappingToyMetadata.ClassInfo get(final Object key)
+        {
+            if (!(key instanceof final String name) || !rangesByName.containsKey(name))
+            {
+                return null;
+            }
+
+            final MappingToyMetadata.ClassInfo classInfo = decodedClasses.computeIfAbsent(name, this::decode);
+            return classInfo == NO_CLASS_INFO ? null : classInfo;
+        }
+
+        @Override
+        public int size()
+        {
+            return rangesByName.size();
+        }
+
+        @Override
+        public Set<Entry<String, MappingToyMetadata.ClassInfo>> entrySet()
+        {
+            return new AbstractSet<>()
+            {
+                @Override
+                public Iterator<Entry<String, MappingToyMetadata.ClassInfo>> iterator()
+                {
+                    final Iterator<String> names = rangesByName.keySet().iterator();
+                    return new Iterator<>()
+                    {
+                        @Override
+                        public boolean hasNext()
+                        {
+                            return names.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, MappingToyMetadata.ClassInfo> next()
+                        {
+                            final String name = names.next();
+                            return new SimpleImmutableEntry<>(name, get(name));
+                        }
+                    };
+                }
+
+                @Override
+                public int size()
+                {
+                    return rangesByName.size();
+                }
+            };
+        }
+
+        private MappingToyMetadata.ClassInfo decode(final String name)
+        {
+            final ValueRange range = rangesByName.get(name);
+            final byte[] value = new byte[range.end() - range.start()];
+            content.get(range.start(), value);
+
+            try (final Reader reader = new InputStreamReader(new ByteArrayInputStream(value), StandardCharsets.UTF_8))
+            {
+                final MappingToyMetadata.ClassInfo classInfo = gson.fromJson(new JsonReader(reader), MappingToyMetadata.ClassInfo.class);
+                return classInfo == null ? NO_CLASS_INFO : classInfo;
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException("Failed to decode the metadata of class: %s".formatted(name), e);
+            }
+        }
+    }
+
+    /**
+     * Finds the byte ranges of the values of the top level object.
+     * {@link JsonReader} does not expose the position of its tokens, but all structural characters of json are ascii,
+     * so the utf-8 encoded content can be scanned byte by byte.
+     */
+    private static final class Scanner
+    {
+        private final ByteBuffer content;
+        private final Gson       gson;
+        private       int        position = 0;
+
+        private Scanner(final ByteBuffer content, final Gson gson)
+        {
+            this.content = content;
+            this.gson = gson;
+        }
+
+        private Map<String, ValueRange> indexClasses()
+        {
+            final Map<String, ValueRange> rangesByName = new LinkedHashMap<>();
+
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}')
+            {
+                return rangesByName;
+            }
+
+            while (true)
+            {
+                skipWhitespace();
+                final String name = readName();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+
+                final int start = position;
+                skipValue();
+                rangesByName.put(name, new ValueRange(start, position));
+
+                skipWhitespace();
+                final byte separator = next();
+                if (separator == '}')
+                {
+                    return rangesByName;
+                }
+                if (separator != ',')
+                {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+
+        private String readName()
+        {
+            final int start = position;
+            final boolean escaped = skipString();
+            if (!escaped)
+            {
+                return StandardCharsets.UTF_8.decode(content.slice(start + 1, position - start - 2)).toString();
+            }
+
+            final byte[] name = new byte[position - start];
+            content.get(start, name);
+            return gson.fromJson(new String(name, StandardCharsets.UTF_8), String.class);
+        }
+
+        private void skipValue()
+        {
+            final byte first = peek();
+            if (first == '"')
+            {
+                skipString();
+                return;
+            }
+
+            if (first != '{' && first != '[')
+            {
+                //Literals and numbers end at the next structural character or whitespace.
+                while (position < content.limit() && !isLiteralEnd(content.get(position)))
+                {
+                    position++;
+                }
+                return;
+            }
+
+            int depth = 0;
+            do
+            {
+                final byte current = peek();
+                if (current == '"')
+                {
+                    skipString();
+                    continue;
+                }
+
+                if (current == '{' || current == '[')
+                {
+                    depth++;
+                }
+                else if (current == '}' || current == ']')
+                {
+                    depth--;
+                }
+                position++;
+            }
+            while (depth > 0);
+        }
+
+        private boolean skipString()
+        {
+            expect('"');
+            boolean escaped = false;
+            while (true)
+            {
+                final byte current = next();
+                if (current == '\\')
+                {
+                    escaped = true;
+                    next();
+                }
+                else if (current == '"')
+                {
+                    return escaped;
+                }
+            }
+        }
+
+        private void skipWhitespace()
+        {
+            while (position < content.limit())
+            {
+                final byte current = content.get(position);
+                if (current != ' ' && current != '\t' && current != '\n' && current != '\r')
+                {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private static boolean isLiteralEnd(final byte current)
+        {
+            return current == ',' || current == '}' || current == ']' || current == ' ' || current == '\t' || current == '\n' || current == '\r';
+        }
+
+        private void expect(final char expected)
+        {
+            if (next() != expected)
+            {
+                position--;
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private byte peek()
+        {
+            if (position >= content.limit())
+            {
+                throw error("Unexpected end of the metadata");
+            }
+
+            return content.get(position);
+        }
+
+        private byte next()
+        {
+            final byte current = peek();
+            position++;
+            return current;
+        }
+
+        private IllegalStateException error(final String message)
+        {
+            return new IllegalStateException("%s at byte %d of the metadata".formatted(message, position));
+        }
+    }
+}
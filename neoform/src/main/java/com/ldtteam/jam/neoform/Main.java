@@ -14,7 +14,7 @@ public class Main
           TSRGExistingNameSupplier::create,
           TSRGNewIdentitySupplier::create,
           TSRGNamedASTBuilder::ast,
-          TSRGMetadataASTBuilder::create,
+          SnapshotMetadataASTBuilder::create,
           TSRGNamedASTWriter::create,
           TSRGMappingRuntimeConfiguration::create,
           TSRGStatisticsWriter::create);
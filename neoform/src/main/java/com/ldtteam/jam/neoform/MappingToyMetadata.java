@@ -23,7 +23,7 @@ public class MappingToyMetadata implements IMetadataAST
         return classInfoMap;
     }
 
-    private interface IAccessible extends IMetadataWithAccessInformation {
+    interface IAccessible extends IMetadataWithAccessInformation {
         int getAccess();
         @Override
         default boolean isInterface() {
@@ -116,7 +116,7 @@ public class MappingToyMetadata implements IMetadataAST
         @Override
         public int getAccess()
         {
-            return access;
+            return access == null ? 0 : access;
         }
 
         public void setAccess(final Integer access)
@@ -198,7 +198,7 @@ public class MappingToyMetadata implements IMetadataAST
             @Override
             public int getAccess()
             {
-                return access;
+                return access == null ? 0 : access;
             }
 
             public void setAccess(final Integer access)
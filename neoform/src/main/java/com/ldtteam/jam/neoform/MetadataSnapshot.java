@@ -0,0 +1,769 @@
+package com.ldtteam.jam.neoform;
+
+import com.google.common.base.Suppliers;
+import com.google.common.hash.Hashing;
+import com.ldtteam.jam.spi.ast.metadata.*;
+import com.machinezoo.noexception.Exceptions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.objectweb.asm.Opcodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A compact binary snapshot of a metadata AST, which is read through a memory mapping.
+ * <p>
+ * All strings are stored once in a string table, and every class is stored as a record of string table indices and
+ * access flags. Opening a snapshot only reads the names of the classes. A class, and the methods and fields in it, are
+ * read from the mapping when they are looked up.
+ * <p>
+ * A snapshot is named after the content hash of the metadata file it was created from, so that a changed metadata file
+ * gets a new snapshot instead of using a stale one. The content hash is stored in the cache directory together with the
+ * size and modification time of the metadata file, and is only computed again when either of them changes.
+ */
+public final class MetadataSnapshot
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataSnapshot.class);
+
+    private static final int    MAGIC                   = 0x4A414D4D;
+    private static final int    FORMAT_VERSION          = 2;
+    private static final int    HEADER_SIZE             = 16;
+    private static final int    NONE                    = -1;
+    private static final String SNAPSHOT_FILE_EXTENSION = ".metadata";
+    private static final String CONTENT_HASH_FILE_EXTENSION = ".sha256";
+
+    private MetadataSnapshot()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: MetadataSnapshot. This is a utility class");
+    }
+
+    /**
+     * Determines the snapshot file for the given metadata file.
+     * The snapshot file changes when either the content of the metadata file or the snapshot format changes.
+     *
+     * @param cacheDirectory The cache directory.
+     * @param metadataFile The metadata file.
+     * @return The snapshot file for the metadata file.
+     */
+    public static Path locate(final Path cacheDirectory, final Path metadataFile)
+    {
+        final String key = Hashing.sha256()
+          .newHasher()
+          .putString(contentHash(cacheDirectory, metadataFile), StandardCharsets.UTF_8)
+          .putInt(FORMAT_VERSION)
+          .hash()
+          .toString();
+
+        return cacheDirectory.resolve(key + SNAPSHOT_FILE_EXTENSION);
+    }
+
+    /**
+     * Determines the content hash of the given metadata file.
+     * The hash of the previous run is reused when the metadata file still has the same path, size and modification
+     * time, so that warm runs do not need to read the whole metadata file.
+     *
+     * @param cacheDirectory The cache directory, in which the content hash is stored.
+     * @param metadataFile The metadata file.
+     * @return The content hash of the metadata file.
+     */
+    private static String contentHash(final Path cacheDirectory, final Path metadataFile)
+    {
+        final Path absoluteMetadataFile = metadataFile.toAbsolutePath();
+        final Path contentHashFile = cacheDirectory.resolve(
+          Hashing.sha256().hashString(absoluteMetadataFile.toString(), StandardCharsets.UTF_8) + CONTENT_HASH_FILE_EXTENSION
+        );
+        final String stamp = Exceptions.sneak().get(() -> absoluteMetadataFile + ":" + Files.size(metadataFile) + ":" + Files.getLastModifiedTime(metadataFile).toMillis());
+
+        try
+        {
+            if (Files.isRegularFile(contentHashFile))
+            {
+                final List<String> lines = Files.readAllLines(contentHashFile, StandardCharsets.UTF_8);
+                if (lines.size() == 2 && lines.get(0).equals(stamp) && lines.get(1).matches("[0-9a-f]{64}"))
+                {
+                    return lines.get(1);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Failed to read the content hash file: {}. Hashing the metadata file again.", contentHashFile, e);
+        }
+
+        final String contentHash = Exceptions.sneak().get(() -> com.google.common.io.Files.asByteSource(metadataFile.toFile()).hash(Hashing.sha256()).toString());
+        try
+        {
+            Files.createDirectories(cacheDirectory);
+            final Path temporaryFile = Files.createTempFile(cacheDirectory, contentHashFile.getFileName().toString(), ".tmp");
+            Files.write(temporaryFile, List.of(stamp, contentHash), StandardCharsets.UTF_8);
+            Files.move(temporaryFile, contentHashFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Failed to write the content hash file: {}. The metadata file will be hashed again on the next run.", contentHashFile, e);
+        }
+
+        return contentHash;
+    }
+
+    /**
+     * Writes a snapshot of the given metadata AST.
+     *
+     * @param snapshotFile The file to write the snapshot to, as determined by {@link #locate(Path, Path)}.
+     * @param metadata The metadata AST.
+     */
+    public static void write(final Path snapshotFile, final IMetadataAST metadata) throws IOException
+    {
+        final SnapshotWriter writer = new SnapshotWriter();
+        final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        final DataOutputStream recordStream = new DataOutputStream(records);
+
+        final List<Map.Entry<String, ? extends IMetadataClass>> classes = new ArrayList<>(metadata.getClassesByName().entrySet());
+        final int[] classNames = new int[classes.size()];
+        final int[] classOffsets = new int[classes.size()];
+        for (int i = 0; i < classes.size(); i++)
+        {
+            classNames[i] = writer.string(classes.get(i).getKey());
+            if (classes.get(i).getValue() == null)
+            {
+                classOffsets[i] = NONE;
+                continue;
+            }
+
+            classOffsets[i] = recordStream.size();
+            writer.writeClass(recordStream, classes.get(i).getValue());
+        }
+        recordStream.flush();
+
+        final byte[][] strings = writer.strings.keySet().stream()
+          .map(string -> string.getBytes(StandardCharsets.UTF_8))
+          .toArray(byte[][]::new);
+        final int stringDataLength = Arrays.stream(strings).mapToInt(string -> string.length).sum();
+        final int stringDataPosition = HEADER_SIZE + 4 * (strings.length + 1);
+        final int classTablePosition = stringDataPosition + stringDataLength;
+        final int recordsPosition = classTablePosition + 8 * classes.size();
+
+        Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+        final Path temporaryFile = Files.createTempFile(snapshotFile.toAbsolutePath().getParent(), snapshotFile.getFileName().toString(), ".tmp");
+        try (final DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile))))
+        {
+            stream.writeInt(MAGIC);
+            stream.writeInt(FORMAT_VERSION);
+            stream.writeInt(strings.length);
+            stream.writeInt(classes.size());
+
+            int stringOffset = 0;
+            for (final byte[] string : strings)
+            {
+                stream.writeInt(stringOffset);
+                stringOffset += string.length;
+            }
+            stream.writeInt(stringOffset);
+            for (final byte[] string : strings)
+            {
+                stream.write(string);
+            }
+
+            for (int i = 0; i < classes.size(); i++)
+            {
+                stream.writeInt(classNames[i]);
+                stream.writeInt(classOffsets[i] == NONE ? NONE : recordsPosition + classOffsets[i]);
+            }
+
+            records.writeTo(stream);
+        }
+
+        Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Opens the given snapshot.
+     *
+     * @param snapshotFile The snapshot file, as determined by {@link #locate(Path, Path)}.
+     * @return The metadata AST of the snapshot, or empty if the snapshot is missing or invalid.
+     */
+    public static Optional<IMetadataAST> open(final Path snapshotFile)
+    {
+        if (!Files.isRegularFile(snapshotFile))
+        {
+            return Optional.empty();
+        }
+
+        try (final FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ))
+        {
+            final ByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (content.limit() < HEADER_SIZE || content.getInt(0) != MAGIC || content.getInt(4) != FORMAT_VERSION)
+            {
+                LOGGER.warn("The metadata snapshot: {} has an unknown format. Ignoring it.", snapshotFile);
+                return Optional.empty();
+            }
+
+            return Optional.of(new SnapshotAST(content));
+        }
+        catch (IOException | IndexOutOfBoundsException e)
+        {
+            LOGGER.warn("Failed to open the metadata snapshot: {}. Ignoring it.", snapshotFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private static final class SnapshotWriter
+    {
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        private int string(@Nullable final String string)
+        {
+            return string == null ? NONE : strings.computeIfAbsent(string, s -> strings.size());
+        }
+
+        private void writeStrings(final DataOutputStream stream, @Nullable final Collection<String> values) throws IOException
+        {
+            if (values == null)
+            {
+                stream.writeInt(NONE);
+                return;
+            }
+
+            stream.writeInt(values.size());
+            for (final String value : values)
+            {
+                stream.writeInt(string(value));
+            }
+        }
+
+        private void writeReference(final DataOutputStream stream, @Nullable final IMetadataMethodReference reference) throws IOException
+        {
+            if (reference == null)
+            {
+                stream.writeInt(NONE);
+                stream.writeInt(NONE);
+                stream.writeInt(NONE);
+                return;
+            }
+
+            stream.writeInt(string(reference.getOwner()));
+            stream.writeInt(string(reference.getName()));
+            stream.writeInt(string(reference.getDesc()));
+        }
+
+        private void writeClass(final DataOutputStream stream, final IMetadataClass classInfo) throws IOException
+        {
+            stream.writeInt(access(classInfo));
+            stream.writeInt(string(classInfo.getSuperName()));
+            stream.writeInt(string(classInfo.getSignature()));
+            writeStrings(stream, classInfo.getInterfaces());
+
+            final Map<String, ? extends IMetadataField> fields = classInfo.getFieldsByName();
+            stream.writeInt(fields == null ? NONE : fields.size());
+            if (fields != null)
+            {
+                for (final Map.Entry<String, ? extends IMetadataField> field : fields.entrySet())
+                {
+                    stream.writeInt(string(field.getKey()));
+                    stream.writeInt(access(field.getValue()));
+                    stream.writeInt(string(field.getValue().getDesc()));
+                    stream.writeInt(string(field.getValue().getSignature()));
+                    stream.writeInt(string(field.getValue().getForce()));
+                }
+            }
+
+            final Map<String, ? extends IMetadataMethod> methods = classInfo.getMethodsByName();
+            stream.writeInt(methods == null ? NONE : methods.size());
+            if (methods != null)
+            {
+                for (final Map.Entry<String, ? extends IMetadataMethod> method : methods.entrySet())
+                {
+                    stream.writeInt(string(method.getKey()));
+                    stream.writeInt(access(method.getValue()));
+                    stream.writeInt(string(method.getValue().getSignature()));
+                    stream.writeInt(string(method.getValue().getForce()));
+
+                    final IMetadataBounce bouncer = method.getValue().getBouncer();
+                    stream.writeInt(bouncer == null ? 0 : 1);
+                    if (bouncer != null)
+                    {
+                        writeReference(stream, bouncer.getTarget());
+                        writeReference(stream, bouncer.getOwner());
+                    }
+
+                    writeReference(stream, method.getValue().getParent());
+
+                    final Set<? extends IMetadataMethodReference> overrides = method.getValue().getOverrides();
+                    stream.writeInt(overrides == null ? NONE : overrides.size());
+                    if (overrides != null)
+                    {
+                        for (final IMetadataMethodReference override : overrides)
+                        {
+                            writeReference(stream, override);
+                        }
+                    }
+                }
+            }
+
+            final List<? extends IMetadataRecordComponent> records = classInfo.getRecords();
+            stream.writeInt(records == null ? NONE : records.size());
+            if (records != null)
+            {
+                for (final IMetadataRecordComponent record : records)
+                {
+                    stream.writeInt(string(record.getField()));
+                    stream.writeInt(string(record.getDesc()));
+                    writeStrings(stream, record.getMethods());
+                }
+            }
+        }
+
+        //The metadata only exposes the access flags as booleans, which are all that is needed to restore them.
+        private static int access(final IMetadataWithAccessInformation accessInformation)
+        {
+            int access = 0;
+            access |= accessInformation.isPublic() ? Opcodes.ACC_PUBLIC : 0;
+            access |= accessInformation.isPrivate() ? Opcodes.ACC_PRIVATE : 0;
+            access |= accessInformation.isProtected() ? Opcodes.ACC_PROTECTED : 0;
+            access |= accessInformation.isStatic() ? Opcodes.ACC_STATIC : 0;
+            access |= accessInformation.isFinal() ? Opcodes.ACC_FINAL : 0;
+            access |= accessInformation.isInterface() ? Opcodes.ACC_INTERFACE : 0;
+            access |= accessInformation.isAbstract() ? Opcodes.ACC_ABSTRACT : 0;
+            access |= accessInformation.isSynthetic() ? Opcodes.ACC_SYNTHETIC : 0;
+            access |= accessInformation.isAnnotation() ? Opcodes.ACC_ANNOTATION : 0;
+            access |= accessInformation.isEnum() ? Opcodes.ACC_ENUM : 0;
+            return access;
+        }
+    }
+
+    private static final class SnapshotAST extends AbstractMap<String, IMetadataClass> implements IMetadataAST
+    {
+        private final ByteBuffer                        content;
+        private final int                               stringDataPosition;
+        private final String[]                          strings;
+        private final Map<String, Integer>              classOffsets;
+        private final Map<String, ClassView>           classes = new ConcurrentHashMap<>();
+
+        private SnapshotAST(final ByteBuffer content)
+        {
+            this.content = content;
+            final int stringCount = content.getInt(8);
+            final int classCount = content.getInt(12);
+            this.stringDataPosition = HEADER_SIZE + 4 * (stringCount + 1);
+            this.strings = new String[stringCount];
+
+            final int classTablePosition = stringDataPosition + content.getInt(HEADER_SIZE + 4 * stringCount);
+            this.classOffsets = new LinkedHashMap<>(classCount);
+            for (int i = 0; i < classCount; i++)
+            {
+                classOffsets.put(string(content.getInt(classTablePosition + 8 * i)), content.getInt(classTablePosition + 8 * i + 4));
+            }
+        }
+
+        @Override
+        public Map<String, ? extends IMetadataClass> getClassesByName()
+        {
+            return this;
+        }
+
+        @Override
+        public boolean containsKey(final Object key)
+        {
+            return classOffsets.containsKey(key);
+        }
+
+        @Override
+        public IMetadataClass get(final Object key)
+        {
+            final Integer offset = classOffsets.get(key);
+            if (offset == null || offset == NONE)
+            {
+                return null;
+            }
+
+            return classes.computeIfAbsent((String) key, name -> new ClassView(this, offset));
+        }
+
+        @Override
+        public int size()
+        {
+            return classOffsets.size();
+        }
+
+        @Override
+        public Set<Entry<String, IMetadataClass>> entrySet()
+        {
+            return new AbstractSet<>()
+            {
+                @Override
+                public Iterator<Entry<String, IMetadataClass>> iterator()
+                {
+                    final Iterator<String> names = classOffsets.keySet().iterator();
+                    return new Iterator<>()
+                    {
+                        @Override
+                        public boolean hasNext()
+                        {
+                            return names.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, IMetadataClass> next()
+                        {
+                            final String name = names.next();
+                            return new SimpleImmutableEntry<>(name, get(name));
+                        }
+                    };
+                }
+
+                @Override
+                public int size()
+                {
+                    return classOffsets.size();
+                }
+            };
+        }
+
+        private int readInt(final int position)
+        {
+            return content.getInt(position);
+        }
+
+        @Nullable
+        private String string(final int index)
+        {
+            if (index == NONE)
+            {
+                return null;
+            }
+
+            //Strings are immutable, so two threads decoding the same string at the same time is harmless.
+            String string = strings[index];
+            if (string == null)
+            {
+                final int start = content.getInt(HEADER_SIZE + 4 * index);
+                final byte[] bytes = new byte[content.getInt(HEADER_SIZE + 4 * (index + 1)) - start];
+                content.get(stringDataPosition + start, bytes);
+                string = new String(bytes, StandardCharsets.UTF_8);
+                strings[index] = string;
+            }
+
+            return string;
+        }
+
+        @Nullable
+        private List<String> strings(final int position)
+        {
+            final int count = readInt(position);
+            if (count == NONE)
+            {
+                return null;
+            }
+
+            final List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++)
+            {
+                values.add(string(readInt(position + 4 + 4 * i)));
+            }
+            return values;
+        }
+
+        private static int stringsSize(final int count)
+        {
+            return 4 + 4 * Math.max(0, count);
+        }
+
+        @Nullable
+        private MethodReference reference(final int position)
+        {
+            final String owner = string(readInt(position));
+            return owner == null ? null : new MethodReference(owner, string(readInt(position + 4)), string(readInt(position + 8)));
+        }
+    }
+
+    private static final class ClassView implements MappingToyMetadata.IAccessible, IMetadataClass
+    {
+        private final SnapshotAST ast;
+        private final int         position;
+        private final int         fieldsPosition;
+        private final int         methodsPosition;
+        private final int         recordsPosition;
+
+        private final Supplier<Map<String, FieldView>>  fields;
+        private final Supplier<Map<String, MethodView>> methods;
+
+        private ClassView(final SnapshotAST ast, final int position)
+        {
+            this.ast = ast;
+            this.position = position;
+
+            this.fieldsPosition = position + 12 + SnapshotAST.stringsSize(ast.readInt(position + 12));
+            final int fieldCount = ast.readInt(fieldsPosition);
+            this.methodsPosition = fieldsPosition + 4 + 20 * Math.max(0, fieldCount);
+
+            int current = methodsPosition + 4;
+            final int methodCount = ast.readInt(methodsPosition);
+            for (int i = 0; i < methodCount; i++)
+            {
+                current = MethodView.end(ast, current);
+            }
+            this.recordsPosition = current;
+
+            this.fields = Suppliers.memoize(this::readFields);
+            this.methods = Suppliers.memoize(this::readMethods);
+        }
+
+        @Override
+        public int getAccess()
+        {
+            return ast.readInt(position);
+        }
+
+        @Override
+        public String getSuperName()
+        {
+            return ast.string(ast.readInt(position + 4));
+        }
+
+        @Override
+        public Collection<String> getInterfaces()
+        {
+            return ast.strings(position + 12);
+        }
+
+        @Override
+        public String getSignature()
+        {
+            return ast.string(ast.readInt(position + 8));
+        }
+
+        @Override
+        public Map<String, ? extends IMetadataField> getFieldsByName()
+        {
+            return fields.get();
+        }
+
+        @Override
+        public Map<String, ? extends IMetadataMethod> getMethodsByName()
+        {
+            return methods.get();
+        }
+
+        @Override
+        public List<? extends IMetadataRecordComponent> getRecords()
+        {
+            final int count = ast.readInt(recordsPosition);
+            if (count == NONE)
+            {
+                return null;
+            }
+
+            final List<RecordComponent> records = new ArrayList<>(count);
+            int current = recordsPosition + 4;
+            for (int i = 0; i < count; i++)
+            {
+                records.add(new RecordComponent(ast.string(ast.readInt(current)), ast.string(ast.readInt(current + 4)), ast.strings(current + 8)));
+                current += 8 + SnapshotAST.stringsSize(ast.readInt(current + 8));
+            }
+            return records;
+        }
+
+        @Nullable
+        private Map<String, FieldView> readFields()
+        {
+            final int count = ast.readInt(fieldsPosition);
+            if (count == NONE)
+            {
+                return null;
+            }
+
+            final Map<String, FieldView> fieldsByName = new LinkedHashMap<>(count);
+            for (int i = 0; i < count; i++)
+            {
+                final int fieldPosition = fieldsPosition + 4 + 20 * i;
+                fieldsByName.put(ast.string(ast.readInt(fieldPosition)), new FieldView(ast, fieldPosition));
+            }
+            return fieldsByName;
+        }
+
+        @Nullable
+        private Map<String, MethodView> readMethods()
+        {
+            final int count = ast.readInt(methodsPosition);
+            if (count == NONE)
+            {
+                return null;
+            }
+
+            final Map<String, MethodView> methodsByName = new LinkedHashMap<>(count);
+            int current = methodsPosition + 4;
+            for (int i = 0; i < count; i++)
+            {
+                methodsByName.put(ast.string(ast.readInt(current)), new MethodView(ast, current));
+                current = MethodView.end(ast, current);
+            }
+            return methodsByName;
+        }
+    }
+
+    private record FieldView(SnapshotAST ast, int position) implements MappingToyMetadata.IAccessible, IMetadataField
+    {
+        @Override
+        public int getAccess()
+        {
+            return ast.readInt(position + 4);
+        }
+
+        @Override
+        public String getDesc()
+        {
+            return ast.string(ast.readInt(position + 8));
+        }
+
+        @Override
+        public String getSignature()
+        {
+            return ast.string(ast.readInt(position + 12));
+        }
+
+        @Override
+        public String getForce()
+        {
+            return ast.string(ast.readInt(position + 16));
+        }
+    }
+
+    private record MethodView(SnapshotAST ast, int position) implements MappingToyMetadata.IAccessible, IMetadataMethod
+    {
+        private static final int REFERENCE_SIZE = 12;
+
+        private static int end(final SnapshotAST ast, final int position)
+        {
+            final int parentPosition = parentPosition(ast, position);
+            final int overrideCount = ast.readInt(parentPosition + REFERENCE_SIZE);
+            return parentPosition + REFERENCE_SIZE + 4 + REFERENCE_SIZE * Math.max(0, overrideCount);
+        }
+
+        private static int parentPosition(final SnapshotAST ast, final int position)
+        {
+            return position + 20 + (ast.readInt(position + 16) == 0 ? 0 : 2 * REFERENCE_SIZE);
+        }
+
+        @Override
+        public int getAccess()
+        {
+            return ast.readInt(position + 4);
+        }
+
+        @Override
+        public String getSignature()
+        {
+            return ast.string(ast.readInt(position + 8));
+        }
+
+        @Override
+        public IMetadataBounce getBouncer()
+        {
+            if (ast.readInt(position + 16) == 0)
+            {
+                return null;
+            }
+
+            return new Bounce(ast.reference(position + 20), ast.reference(position + 20 + REFERENCE_SIZE));
+        }
+
+        @Override
+        public String getForce()
+        {
+            return ast.string(ast.readInt(position + 12));
+        }
+
+        @Override
+        public Set<? extends IMetadataMethodReference> getOverrides()
+        {
+            final int overridesPosition = parentPosition(ast, position) + REFERENCE_SIZE;
+            final int count = ast.readInt(overridesPosition);
+            if (count == NONE)
+            {
+                return null;
+            }
+
+            final Set<MethodReference> overrides = new LinkedHashSet<>(count);
+            for (int i = 0; i < count; i++)
+            {
+                overrides.add(ast.reference(overridesPosition + 4 + REFERENCE_SIZE * i));
+            }
+            return overrides;
+        }
+
+        @Override
+        public IMetadataMethodReference getParent()
+        {
+            return ast.reference(parentPosition(ast, position));
+        }
+    }
+
+    private record MethodReference(String owner, String name, String desc) implements IMetadataMethodReference
+    {
+        @Override
+        public @NonNull String getOwner()
+        {
+            return owner;
+        }
+
+        @Override
+        public @NonNull String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public @NonNull String getDesc()
+        {
+            return desc;
+        }
+    }
+
+    private record Bounce(IMetadataMethodReference target, IMetadataMethodReference owner) implements IMetadataBounce
+    {
+        @Override
+        public IMetadataMethodReference getTarget()
+        {
+            return target;
+        }
+
+        @Override
+        public IMetadataMethodReference getOwner()
+        {
+            return owner;
+        }
+    }
+
+    private record RecordComponent(String field, String desc, List<String> methods) implements IMetadataRecordComponent
+    {
+        @Override
+        public @NonNull String getField()
+        {
+            return field;
+        }
+
+        @Override
+        public @NonNull String getDesc()
+        {
+            return desc;
+        }
+
+        @Override
+        public List<String> getMethods()
+        {
+            return methods;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ldtteam.jam.neoform;
+
+import com.google.common.base.Suppliers;
+import com.ldtteam.jam.spi.ast.metadata.IMetadataAST;
+import com.ldtteam.jam.spi.metadata.IMetadataASTBuilder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A metadata AST builder which serves the metadata from a binary snapshot in the cache directory.
+ * <p>
+ * When there is no snapshot for the content of the metadata file, the metadata file is loaded and a new snapshot is
+ * written, so that later runs only need to memory map the snapshot. If the snapshot can not be written the loaded
+ * metadata is used directly. Without a cache directory the metadata file is always loaded directly.
+ */
+public class SnapshotMetadataASTBuilder implements IMetadataASTBuilder
+{
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotMetadataASTBuilder.class);
+
+    public static IMetadataASTBuilder create(final Path metadataFile, final Optional<Path> cacheDirectory) {
+        return cacheDirectory
+                .map(directory -> (IMetadataASTBuilder) new SnapshotMetadataASTBuilder(metadataFile, directory))
+                .orElseGet(() -> TSRGMetadataASTBuilder.create(metadataFile));
+    }
+
+    private final Path metadataFile;
+    private final Path cacheDirectory;
+    private final Supplier<IMetadataAST> metadataASTSupplier;
+
+    private SnapshotMetadataASTBuilder(final Path metadataFile, final Path cacheDirectory) {
+        this.metadataFile = metadataFile;
+        this.cacheDirectory = cacheDirectory;
+        metadataASTSupplier = Suppliers.memoize(this::loadAST);
+    }
+
+    @Override
+    public @NonNull IMetadataAST ast() {
+        return metadataASTSupplier.get();
+    }
+
+    @NonNull
+    private IMetadataAST loadAST() {
+        final Path snapshotFile = MetadataSnapshot.locate(cacheDirectory, metadataFile);
+        final Optional<IMetadataAST> snapshot = MetadataSnapshot.open(snapshotFile);
+        if (snapshot.isPresent()) {
+            LOGGER.info("Loading metadata snapshot from: " + snapshotFile);
+            return snapshot.get();
+        }
+
+        final IMetadataAST metadata = TSRGMetadataASTBuilder.create(metadataFile).ast();
+        try {
+            LOGGER.info("Writing metadata snapshot to: " + snapshotFile);
+            MetadataSnapshot.write(snapshotFile, metadata);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write the metadata snapshot: {}. Using the metadata file directly.", snapshotFile, e);
+            return metadata;
+        }
+
+        return MetadataSnapshot.open(snapshotFile).orElse(metadata);
+    }
+}
@@ -5,12 +5,9 @@ import com.ldtteam.jam.spi.asm.FieldData;
 import com.ldtteam.jam.spi.asm.MethodData;
 import com.ldtteam.jam.spi.asm.ParameterData;
 import com.ldtteam.jam.spi.name.IExistingNameSupplier;
-import com.machinezoo.noexception.Exceptions;
 
-import net.neoforged.srgutils.INamedMappingFile;
 import net.neoforged.srgutils.IMappingFile;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Optional;
@@ -24,12 +21,9 @@ public class TSRGExistingNameSupplier implements IExistingNameSupplier {
     private final IMappingFile remapper;
 
     private TSRGExistingNameSupplier(final Path obfuscatedToSrgFile, final Path obfuscatedToRuntimeFile) {
-        final INamedMappingFile obfuscatedToSrg = Exceptions.sneak().get(() -> INamedMappingFile.load(Files.newInputStream(obfuscatedToSrgFile)));
-        final INamedMappingFile obfuscatedToRuntime = Exceptions.sneak().get(() -> INamedMappingFile.load(Files.newInputStream(obfuscatedToRuntimeFile)));
+        final IMappingFile runtimeToObfuscated = TSRGMappingFiles.getMap(obfuscatedToRuntimeFile, "left", "right");
 
-        final IMappingFile runtimeToObfuscated = obfuscatedToRuntime.getMap("left", "right");
-
-        this.remapper = runtimeToObfuscated.chain(obfuscatedToSrg.getMap("obf", "srg"));
+        this.remapper = runtimeToObfuscated.chain(TSRGMappingFiles.getMap(obfuscatedToSrgFile, "obf", "srg"));
     }
 
     @Override
@@ -5,11 +5,8 @@ import com.ldtteam.jam.spi.asm.FieldData;
 import com.ldtteam.jam.spi.asm.MethodData;
 import com.ldtteam.jam.spi.asm.ParameterData;
 import com.ldtteam.jam.spi.identification.IExistingIdentitySupplier;
-import com.machinezoo.noexception.Exceptions;
 import net.neoforged.srgutils.IMappingFile;
-import net.neoforged.srgutils.INamedMappingFile;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
 
@@ -27,11 +24,9 @@ public class TSRGIdentitySupplier implements IExistingIdentitySupplier
 
     private TSRGIdentitySupplier(final Path tsrgIdSourceMappingFile, final Path officialToObfuscatedMappingFile)
     {
-        INamedMappingFile tsrgIdSourceMappingFile1 = Exceptions.sneak().get(() -> INamedMappingFile.load(Files.newInputStream(tsrgIdSourceMappingFile)));
-        INamedMappingFile officialToObfuscatedMappingFile1 = Exceptions.sneak().get(() -> INamedMappingFile.load(Files.newInputStream(officialToObfuscatedMappingFile)));
-        this.officialToObfuscatedMapping = officialToObfuscatedMappingFile1.getMap("left", "right");
+        this.officialToObfuscatedMapping = TSRGMappingFiles.getMap(officialToObfuscatedMappingFile, "left", "right");
 
-        this.obfuscatedToIdMapping = tsrgIdSourceMappingFile1.getMap("obf", "id");
+        this.obfuscatedToIdMapping = TSRGMappingFiles.getMap(tsrgIdSourceMappingFile, "obf", "id");
         this.officialToIdMapping = this.officialToObfuscatedMapping.chain(this.obfuscatedToIdMapping);
     }
 
@@ -0,0 +1,80 @@
+package com.ldtteam.jam.neoform;
+
+import com.google.common.hash.Hashing;
+import com.machinezoo.noexception.Exceptions;
+import net.neoforged.srgutils.IMappingFile;
+import net.neoforged.srgutils.INamedMappingFile;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process wide registry of parsed mapping files.
+ * <p>
+ * Every mapping file is parsed once, and parsed again only when its modification time changes.
+ * The views between two sides of a mapping file are created once per parsed file and shared by all consumers.
+ */
+public final class TSRGMappingFiles {
+
+    private static final Map<Path, ParsedMappingFile> MAPPING_FILES = new ConcurrentHashMap<>();
+
+    private TSRGMappingFiles() {
+        throw new IllegalStateException("Can not instantiate an instance of: TSRGMappingFiles. This is a utility class");
+    }
+
+    /**
+     * Gives the parsed mapping file at the given path.
+     *
+     * @param path The path of the mapping file.
+     * @return The parsed mapping file.
+     */
+    public static ParsedMappingFile get(final Path path) {
+        final Path normalizedPath = path.toAbsolutePath().normalize();
+        final FileTime lastModified = Exceptions.sneak().get(() -> Files.getLastModifiedTime(normalizedPath));
+
+        return MAPPING_FILES.compute(normalizedPath, (key, current) -> {
+            if (current != null && current.lastModified().equals(lastModified)) {
+                return current;
+            }
+
+            return ParsedMappingFile.load(normalizedPath, lastModified);
+        });
+    }
+
+    /**
+     * Gives the view of the mapping file at the given path, which maps from the source side to the target side.
+     *
+     * @param path The path of the mapping file.
+     * @param sourceSide The name of the source side.
+     * @param targetSide The name of the target side.
+     * @return The mapping between both sides.
+     */
+    public static IMappingFile getMap(final Path path, final String sourceSide, final String targetSide) {
+        return get(path).getMap(sourceSide, targetSide);
+    }
+
+    /**
+     * A parsed mapping file.
+     *
+     * @param lastModified The modification time of the file when it was parsed.
+     * @param mappingFile The parsed mapping file.
+     * @param contentHash The sha256 hash of the content of the file.
+     * @param maps The already created views between two sides of the mapping file.
+     */
+    public record ParsedMappingFile(FileTime lastModified, INamedMappingFile mappingFile, String contentHash, Map<String, IMappingFile> maps) {
+
+        private static ParsedMappingFile load(final Path path, final FileTime lastModified) {
+            final byte[] content = Exceptions.sneak().get(() -> Files.readAllBytes(path));
+            final INamedMappingFile mappingFile = Exceptions.sneak().get(() -> INamedMappingFile.load(new ByteArrayInputStream(content)));
+            return new ParsedMappingFile(lastModified, mappingFile, Hashing.sha256().hashBytes(content).toString(), new ConcurrentHashMap<>());
+        }
+
+        public IMappingFile getMap(final String sourceSide, final String targetSide) {
+            return maps.computeIfAbsent(sourceSide + "->" + targetSide, key -> mappingFile.getMap(sourceSide, targetSide));
+        }
+    }
+}
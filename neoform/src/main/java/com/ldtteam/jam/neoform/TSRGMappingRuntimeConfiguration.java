@@ -3,6 +3,7 @@ package com.ldtteam.jam.neoform;
 import com.ldtteam.jam.mapping.AlignedMapper;
 import com.ldtteam.jam.mapping.ByteCodeBasedMethodMapper;
 import com.ldtteam.jam.mapping.ConstantBooleanReturnValuesFlippedMethodMapper;
+import com.ldtteam.jam.mapping.IndexedByteCodeBasedMethodMapper;
 import com.ldtteam.jam.mapping.LambdaAwareMethodMapper;
 import com.ldtteam.jam.mapping.NameBasedMapper;
 import com.ldtteam.jam.mapping.PhasedMapper;
@@ -10,11 +11,18 @@ import com.ldtteam.jam.mapping.TypeAwareParameterMapper;
 import com.ldtteam.jam.matching.instructionlist.DelegatingInstructionListMatcher;
 import com.ldtteam.jam.matching.instructionlist.DiffBasedInstructionListMatcher;
 import com.ldtteam.jam.matching.instructionlist.DirectInstructionListMatcher;
+import com.ldtteam.jam.matching.instructionlist.InstructionListTokenizer;
+import com.ldtteam.jam.spi.asm.MethodData;
 import com.ldtteam.jam.spi.configuration.MappingConfiguration;
 import com.ldtteam.jam.spi.configuration.MappingRuntimeConfiguration;
+import com.ldtteam.jam.spi.mapping.IMapper;
 import com.ldtteam.jam.spi.matching.IMatcher;
+import com.ldtteam.jam.statistics.FuzzyMatchingStatistics;
 import org.objectweb.asm.tree.InsnList;
 
+import java.util.Optional;
+import java.util.TreeMap;
+
 public class TSRGMappingRuntimeConfiguration {
 
     private TSRGMappingRuntimeConfiguration() {
@@ -22,9 +30,22 @@ public class TSRGMappingRuntimeConfiguration {
     }
 
     public static MappingRuntimeConfiguration create(MappingConfiguration mappingConfiguration) {
+        final FuzzyMatchingStatistics fuzzyMatchingStatistics = new FuzzyMatchingStatistics();
+        final InstructionListTokenizer instructionListTokenizer = InstructionListTokenizer.create();
         final IMatcher<InsnList> instructionListMatcher = DelegatingInstructionListMatcher.create(
-                DirectInstructionListMatcher.create(),
-                DiffBasedInstructionListMatcher.create(mappingConfiguration.mappingThresholdPercentage(), mappingConfiguration.minimalInstructionCount())
+                DirectInstructionListMatcher.create(instructionListTokenizer),
+                mappingConfiguration.editDistanceSimilarity() ?
+                        DiffBasedInstructionListMatcher.editDistance(
+                                mappingConfiguration.mappingThresholdPercentage(),
+                                mappingConfiguration.minimalInstructionCount(),
+                                instructionListTokenizer,
+                                fuzzyMatchingStatistics
+                        ) :
+                        DiffBasedInstructionListMatcher.create(
+                                mappingConfiguration.mappingThresholdPercentage(),
+                                mappingConfiguration.minimalInstructionCount(),
+                                instructionListTokenizer
+                        )
         );
 
         return new MappingRuntimeConfiguration(
@@ -34,15 +55,13 @@ public class TSRGMappingRuntimeConfiguration {
                                 NameBasedMapper.methods(),
                                 ConstantBooleanReturnValuesFlippedMethodMapper.create(instructionListMatcher),
                                 PhasedMapper.create(
-                                        ByteCodeBasedMethodMapper.exact(
-                                                instructionListMatcher
-                                        ),
+                                        byteCodeBasedMethodMapper(mappingConfiguration, instructionListMatcher, instructionListTokenizer, false),
                                         NameBasedMapper.methodsByNameOnly()
                                 )
                         ),
                         PhasedMapper.create(
                                 AlignedMapper.methods(
-                                        ByteCodeBasedMethodMapper.terminating(instructionListMatcher)
+                                        byteCodeBasedMethodMapper(mappingConfiguration, instructionListMatcher, instructionListTokenizer, true)
                                 ),
                                 NameBasedMapper.methods()
                         )
@@ -50,7 +69,28 @@ public class TSRGMappingRuntimeConfiguration {
                 NameBasedMapper.fields(),
                 AlignedMapper.parameters(
                         TypeAwareParameterMapper.create()
-                )
+                ),
+                //Only the edit distance similarity runs the pre-filters which these statistics count.
+                mappingConfiguration.editDistanceSimilarity() ? Optional.of(fuzzyMatchingStatistics) : Optional.empty(),
+                Optional.of(cacheKey(mappingConfiguration))
         );
     }
+
+    private static IMapper<MethodData> byteCodeBasedMethodMapper(final MappingConfiguration mappingConfiguration, final IMatcher<InsnList> instructionListMatcher, final InstructionListTokenizer instructionListTokenizer, final boolean terminating) {
+        if (mappingConfiguration.exhaustiveMethodMatching()) {
+            return terminating ? ByteCodeBasedMethodMapper.terminating(instructionListMatcher) : ByteCodeBasedMethodMapper.exact(instructionListMatcher);
+        }
+
+        return terminating ?
+                IndexedByteCodeBasedMethodMapper.terminating(instructionListMatcher, mappingConfiguration.minimalInstructionCount(), mappingConfiguration.fuzzyCandidateLimit(), instructionListTokenizer) :
+                IndexedByteCodeBasedMethodMapper.exact(instructionListMatcher, mappingConfiguration.minimalInstructionCount(), mappingConfiguration.fuzzyCandidateLimit(), instructionListTokenizer);
+    }
+
+    private static String cacheKey(final MappingConfiguration mappingConfiguration) {
+        return "tsrg:" + new TreeMap<>(mappingConfiguration.mappingThresholdPercentage())
+                + ":" + mappingConfiguration.minimalInstructionCount()
+                + ":" + mappingConfiguration.fuzzyCandidateLimit()
+                + ":" + mappingConfiguration.editDistanceSimilarity()
+                + ":" + mappingConfiguration.exhaustiveMethodMatching();
+    }
 }
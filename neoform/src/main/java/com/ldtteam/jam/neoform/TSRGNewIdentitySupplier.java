@@ -5,11 +5,8 @@ import com.ldtteam.jam.spi.asm.FieldData;
 import com.ldtteam.jam.spi.asm.MethodData;
 import com.ldtteam.jam.spi.asm.ParameterData;
 import com.ldtteam.jam.spi.identification.INewIdentitySupplier;
-import com.machinezoo.noexception.Exceptions;
 import net.neoforged.srgutils.IMappingFile;
-import net.neoforged.srgutils.INamedMappingFile;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.stream.Stream;
 
@@ -24,8 +21,7 @@ public class TSRGNewIdentitySupplier implements INewIdentitySupplier
 
     private TSRGNewIdentitySupplier(final Path tsrgToIdFilePath)
     {
-        final INamedMappingFile tsrgToIdFile = Exceptions.sneak().get(() -> INamedMappingFile.load(Files.newInputStream(tsrgToIdFilePath)));
-        final IMappingFile tsrgToId = tsrgToIdFile.getMap("srg", "id");
+        final IMappingFile tsrgToId = TSRGMappingFiles.getMap(tsrgToIdFilePath, "srg", "id");
 
         nextFreeId = tsrgToId
           .getClasses()
@@ -1,39 +1,48 @@
 package com.ldtteam.jam.neoform;
 
+import com.ldtteam.jam.rename.CachingRemapper;
 import com.ldtteam.jam.spi.ast.metadata.IMetadataAST;
 import com.ldtteam.jam.spi.ast.metadata.IMetadataClass;
 import com.ldtteam.jam.spi.name.IRemapper;
-import com.machinezoo.noexception.Exceptions;
 import net.neoforged.srgutils.IMappingFile;
-import net.neoforged.srgutils.INamedMappingFile;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class TSRGRemapper implements IRemapper {
 
     private final IMappingFile remapper;
     private final IMetadataAST metadata;
+    private final String cacheKey;
+    private final Map<MemberReference, Optional<String>> remappedMethods = new ConcurrentHashMap<>();
+    private final Map<MemberReference, Optional<String>> remappedFields = new ConcurrentHashMap<>();
+    private final LongAdder lookupHits = new LongAdder();
+    private final LongAdder lookupMisses = new LongAdder();
 
     private TSRGRemapper(final Path mappingFilePath, final String sourceSide, final String targetSide, IMetadataAST metadata) {
         this.metadata = metadata;
-        INamedMappingFile mappingFile = Exceptions.sneak().get(() -> INamedMappingFile.load(Files.newInputStream(mappingFilePath)));
+        final TSRGMappingFiles.ParsedMappingFile mappingFile = TSRGMappingFiles.get(mappingFilePath);
         remapper = mappingFile.getMap(sourceSide, targetSide);
+        cacheKey = mappingFile.contentHash() + ":" + sourceSide + "->" + targetSide;
     }
 
-    private TSRGRemapper(final IMappingFile remapper, IMetadataAST metadata) {
+    TSRGRemapper(final IMappingFile remapper, IMetadataAST metadata, final String cacheKey) {
         this.remapper = remapper;
         this.metadata = metadata;
+        this.cacheKey = cacheKey;
     }
 
     public static IRemapper createObfuscatedToOfficial(Path path, IMetadataAST metadata) {
-        return new TSRGRemapper(path, "right", "left", metadata);
+        return CachingRemapper.create(new TSRGRemapper(path, "right", "left", metadata));
     }
 
     public static IRemapper createOfficialToObfuscated(Path path, IMetadataAST metadata) {
-        return new TSRGRemapper(path, "left", "right", metadata);
+        return CachingRemapper.create(new TSRGRemapper(path, "left", "right", metadata));
     }
 
     @Override
@@ -43,7 +52,7 @@ public class TSRGRemapper implements IRemapper {
 
     @Override
     public Optional<String> remapMethod(final String className, final String name, final String descriptor) {
-        return remapUsingSuper(className, name, c -> c.remapMethod(name, descriptor), superClassName -> remapMethod(superClassName, name, descriptor), true);
+        return lookup(remappedMethods, new MemberReference(className, name, descriptor), () -> remapUsingSuper(className, name, c -> c.remapMethod(name, descriptor), superClassName -> remapMethod(superClassName, name, descriptor), true));
     }
 
     @Override
@@ -53,9 +62,23 @@ public class TSRGRemapper implements IRemapper {
 
     @Override
     public Optional<String> remapField(final String className, final String name, final String type) {
-        return remapUsingSuper(className, name, c -> c.remapField(name), superClassName -> remapField(superClassName, name, type), false);
+        return lookup(remappedFields, new MemberReference(className, name, type), () -> remapUsingSuper(className, name, c -> c.remapField(name), superClassName -> remapField(superClassName, name, type), false));
     }
     
+    private Optional<String> lookup(final Map<MemberReference, Optional<String>> remapped, final MemberReference reference, final Supplier<Optional<String>> remap) {
+        //Resolving a member recurses into the lookups of its super types, which would be a recursive update within computeIfAbsent.
+        final Optional<String> cached = remapped.get(reference);
+        if (cached != null) {
+            lookupHits.increment();
+            return cached;
+        }
+
+        lookupMisses.increment();
+        final Optional<String> result = remap.get();
+        remapped.put(reference, result);
+        return result;
+    }
+
     private Optional<String> remapUsingSuper(String className, String name, Function<IMappingFile.IClass, String> remap, Function<String, Optional<String>> recurse, boolean interfaces) {
         return Optional.ofNullable(remapper.getClass(className))
                 .map(remap::apply)
@@ -108,6 +131,28 @@ public class TSRGRemapper implements IRemapper {
 
     @Override
     public IRemapper reverse() {
-        return new TSRGRemapper(remapper.reverse(), metadata);
+        return new TSRGRemapper(remapper.reverse(), metadata, cacheKey + ":reversed");
+    }
+
+    /**
+     * @return The amount of member lookups of this remapper which were answered from its cache.
+     */
+    long lookupHits() {
+        return lookupHits.sum();
+    }
+
+    /**
+     * @return The amount of member lookups of this remapper which had to be resolved through the class hierarchy.
+     */
+    long lookupMisses() {
+        return lookupMisses.sum();
     }
+
+    @Override
+    public Optional<String> cacheKey() {
+        //The metadata is derived from the jar that is remapped, so the mapping file identifies the remapping.
+        return Optional.of(cacheKey);
+    }
+
+    private record MemberReference(String className, String name, String descriptor) {}
 }
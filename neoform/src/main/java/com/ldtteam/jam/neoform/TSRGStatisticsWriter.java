@@ -1,5 +1,6 @@
 package com.ldtteam.jam.neoform;
 
+import com.ldtteam.jam.rename.CachingRemapper;
 import com.ldtteam.jam.spi.configuration.Configuration;
 import com.ldtteam.jam.spi.configuration.InputConfiguration;
 import com.ldtteam.jam.spi.statistics.IMappingStatistics;
@@ -17,6 +18,7 @@ import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 public class TSRGStatisticsWriter implements IStatisticsWriter {
     public static IStatisticsWriter create() {
@@ -31,7 +33,7 @@ public class TSRGStatisticsWriter implements IStatisticsWriter {
 
     @Override
     public void write(final Path outputDirectory, final IMappingStatistics mappingStatistics, Configuration configuration) {
-        final String data = buildOutput(mappingStatistics, configuration.inputs());
+        final String data = buildOutput(mappingStatistics, configuration);
 
         if (configuration.outputConfiguration().statisticsWritingConfiguration().writeToConsole()) {
             Arrays.stream(data.split("\n")).forEach(LOGGER::info);
@@ -42,7 +44,8 @@ public class TSRGStatisticsWriter implements IStatisticsWriter {
         }
     }
 
-    private String buildOutput(final IMappingStatistics mappingStatistics, final List<InputConfiguration> inputConfigurations) {
+    private String buildOutput(final IMappingStatistics mappingStatistics, final Configuration configuration) {
+        final List<InputConfiguration> inputConfigurations = configuration.inputs();
         final StringBuilder outputBuilder = new StringBuilder();
 
         outputBuilder.append(new Heading("Jammer Statistics:", 2)).append("\r\n");
@@ -90,11 +93,42 @@ public class TSRGStatisticsWriter implements IStatisticsWriter {
                 .addRow("Methods", mappingStatistics.getTotalMethodStatistics().getMapped(), mappingStatistics.getTotalMethodStatistics().getFound())
                 .addRow("Fields", mappingStatistics.getTotalFieldStatistics().getMapped(), mappingStatistics.getTotalFieldStatistics().getFound())
                 .addRow("Parameters", mappingStatistics.getTotalParameterStatistics().getMapped(), mappingStatistics.getTotalParameterStatistics().getFound());
-        outputBuilder.append(totalTableBuilder.build());
+        outputBuilder.append(totalTableBuilder.build()).append("\r\n");
+
+        //The fuzzy matching statistics are only collected when the matcher runs the pre-filters they count.
+        if (configuration.runtimeConfiguration().fuzzyMatchingStatistics().isPresent()) {
+            outputBuilder.append(new Heading("Fuzzy matching statistics:", 3)).append("\r\n");
+            outputBuilder.append("Transitions restored from the cache are not counted.").append("\r\n");
+            Table.Builder fuzzyMatchingTableBuilder = new Table.Builder()
+                    .withAlignments(Table.ALIGN_RIGHT, Table.ALIGN_CENTER)
+                    .addRow("", "Candidates")
+                    .addRow("Rejected by instruction count", mappingStatistics.getFuzzyMatchingStatistics().getRejectedByInstructionCount())
+                    .addRow("Rejected by opcode histogram", mappingStatistics.getFuzzyMatchingStatistics().getRejectedByOpcodeHistogram())
+                    .addRow("Diffed", mappingStatistics.getFuzzyMatchingStatistics().getDiffed())
+                    .addRow("Matched", mappingStatistics.getFuzzyMatchingStatistics().getMatched());
+            outputBuilder.append(fuzzyMatchingTableBuilder.build()).append("\r\n");
+        }
+
+        outputBuilder.append(new Heading("Remapper lookup statistics:", 3)).append("\r\n");
+        outputBuilder.append("Member lookups of the remappers, either answered from their cache or resolved through the class hierarchy.").append("\r\n");
+        Table.Builder remapperLookupTableBuilder = new Table.Builder()
+                .withAlignments(Table.ALIGN_RIGHT, Table.ALIGN_CENTER, Table.ALIGN_CENTER)
+                .addRow("", "Cached", "Resolved");
+        for (final InputConfiguration inputConfiguration : inputConfigurations) {
+            getTSRGRemapper(inputConfiguration).ifPresent(remapper -> remapperLookupTableBuilder.addRow(inputConfiguration.name(), remapper.lookupHits(), remapper.lookupMisses()));
+        }
+        outputBuilder.append(remapperLookupTableBuilder.build());
 
         return outputBuilder.toString();
     }
 
+    private Optional<TSRGRemapper> getTSRGRemapper(final InputConfiguration inputConfiguration) {
+        return inputConfiguration.remapper()
+                .map(remapper -> remapper instanceof CachingRemapper cachingRemapper ? cachingRemapper.delegate() : remapper)
+                .filter(TSRGRemapper.class::isInstance)
+                .map(TSRGRemapper.class::cast);
+    }
+
     private List<String> getInputVersions(final List<InputConfiguration> inputConfigurations) {
         List<String> list = new ArrayList<>();
         for (int i = 0; i < inputConfigurations.size(); i++) {
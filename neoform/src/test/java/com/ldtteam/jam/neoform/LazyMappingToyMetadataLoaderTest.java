@@ -0,0 +1,143 @@
+package com.ldtteam.jam.neoform;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+class LazyMappingToyMetadataLoaderTest
+{
+    private static final Gson GSON = new GsonBuilder().create();
+    private static final Type CLASSES_TYPE = new TypeToken<Map<String, MappingToyMetadata.ClassInfo>>() {}.getType();
+
+    private static final String PRETTY_METADATA = """
+      {
+        "a/A": {
+          "superName": "java/lang/Object",
+          "interfaces": [ "a/I", "a/J" ],
+          "access": 33,
+          "signature": "<T:Ljava/lang/Object;>Ljava/lang/Object;",
+          "fields": {
+            "value": { "desc": "Ljava/lang/String;", "access": 2 }
+          },
+          "methods": {
+            "get()Ljava/lang/String;": { "access": 1, "overrides": [ { "owner": "a/I", "name": "get", "desc": "()Ljava/lang/String;" } ] }
+          }
+        },
+        "a/B\\u0024Inner": { "superName": "a/A", "access": 32 },
+        "a/\\"Quoted\\"": { "access": 1 },
+        "a/\u00dcn\u00efc\u00f6d\u00e9": { "superName": "a/\\\\Back\\\\slash", "access": 1 },
+        "a/Missing": null,
+        "a/Empty": {}
+      }
+      """;
+
+    @Test
+    void prettyMetadataIsLoadedLikeTheEagerLoader(@TempDir final Path directory) throws IOException
+    {
+        assertLoadedLikeTheEagerLoader(write(directory, PRETTY_METADATA));
+    }
+
+    @Test
+    void compactMetadataIsLoadedLikeTheEagerLoader(@TempDir final Path directory) throws IOException
+    {
+        final String compact = GSON.toJson(GSON.fromJson(PRETTY_METADATA, Object.class));
+
+        Assertions.assertFalse(compact.contains("\n"));
+        assertLoadedLikeTheEagerLoader(write(directory, compact));
+    }
+
+    @Test
+    void escapedAndNonAsciiNamesAreDecoded(@TempDir final Path directory) throws IOException
+    {
+        final Map<String, MappingToyMetadata.ClassInfo> classes = LazyMappingToyMetadataLoader.load(write(directory, PRETTY_METADATA), GSON);
+
+        Assertions.assertEquals(
+          List.of("a/A", "a/B$Inner", "a/\"Quoted\"", "a/\u00dcn\u00efc\u00f6d\u00e9", "a/Missing", "a/Empty"),
+          List.copyOf(classes.keySet())
+        );
+        Assertions.assertEquals("a/A", classes.get("a/B$Inner").getSuperName());
+        Assertions.assertEquals("a/\\Back\\slash", classes.get("a/\u00dcn\u00efc\u00f6d\u00e9").getSuperName());
+    }
+
+    @Test
+    void nullClassesAreKnownButHaveNoData(@TempDir final Path directory) throws IOException
+    {
+        final Map<String, MappingToyMetadata.ClassInfo> classes = LazyMappingToyMetadataLoader.load(write(directory, PRETTY_METADATA), GSON);
+
+        Assertions.assertTrue(classes.containsKey("a/Missing"));
+        Assertions.assertNull(classes.get("a/Missing"));
+        Assertions.assertNull(classes.get("a/Missing"));
+        Assertions.assertFalse(classes.containsKey("a/Unknown"));
+        Assertions.assertNull(classes.get("a/Unknown"));
+    }
+
+    @Test
+    void literalsAtTheEndOfTheObjectAreIndexed(@TempDir final Path directory) throws IOException
+    {
+        final Map<String, MappingToyMetadata.ClassInfo> compact = LazyMappingToyMetadataLoader.load(write(directory, "{\"a/A\":{},\"a/B\":null}"), GSON);
+        Assertions.assertEquals(List.of("a/A", "a/B"), List.copyOf(compact.keySet()));
+        Assertions.assertNull(compact.get("a/B"));
+
+        final Map<String, MappingToyMetadata.ClassInfo> spaced = LazyMappingToyMetadataLoader.load(write(directory, "{ \"a/A\" : null\r\n}\n"), GSON);
+        Assertions.assertEquals(List.of("a/A"), List.copyOf(spaced.keySet()));
+        Assertions.assertNull(spaced.get("a/A"));
+    }
+
+    @Test
+    void emptyMetadataHasNoClasses(@TempDir final Path directory) throws IOException
+    {
+        Assertions.assertTrue(LazyMappingToyMetadataLoader.load(write(directory, "{}"), GSON).isEmpty());
+        Assertions.assertTrue(LazyMappingToyMetadataLoader.load(write(directory, " { \n } "), GSON).isEmpty());
+    }
+
+    @Test
+    void malformedMetadataIsRejected(@TempDir final Path directory) throws IOException
+    {
+        assertMalformed(directory, "", "Unexpected end of the metadata at byte 0");
+        assertMalformed(directory, "[]", "Expected '{' at byte 0");
+        assertMalformed(directory, "{\"a/A\" {}}", "Expected ':' at byte 7");
+        assertMalformed(directory, "{\"a/A\":{} \"a/B\":{}}", "Expected ',' or '}' at byte 11");
+        assertMalformed(directory, "{\"a/A\":{\"access\":1", "Unexpected end of the metadata at byte 18");
+        assertMalformed(directory, "{\"a/A\":null", "Unexpected end of the metadata at byte 11");
+        assertMalformed(directory, "{\"a/A", "Unexpected end of the metadata at byte 5");
+    }
+
+    private static void assertLoadedLikeTheEagerLoader(final Path metadataFile) throws IOException
+    {
+        final Map<String, MappingToyMetadata.ClassInfo> expected = GSON.fromJson(Files.readString(metadataFile), CLASSES_TYPE);
+        final Map<String, MappingToyMetadata.ClassInfo> actual = LazyMappingToyMetadataLoader.load(metadataFile, GSON);
+
+        Assertions.assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+        for (final Map.Entry<String, MappingToyMetadata.ClassInfo> entry : expected.entrySet())
+        {
+            //The metadata classes do not implement equals, so they are compared by their json form.
+            Assertions.assertEquals(GSON.toJson(entry.getValue()), GSON.toJson(actual.get(entry.getKey())), entry.getKey());
+        }
+    }
+
+    private static void assertMalformed(final Path directory, final String content, final String message) throws IOException
+    {
+        final Path metadataFile = write(directory, content);
+        final IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, () -> LazyMappingToyMetadataLoader.load(metadataFile, GSON));
+        Assertions.assertEquals(message + " of the metadata", exception.getMessage());
+    }
+
+    //Every content gets its own file, a memory mapped file can not be replaced on every platform.
+    private static Path write(final Path directory, final String content) throws IOException
+    {
+        final Path metadataFile = Files.createTempFile(directory, "metadata", ".json");
+        Files.writeString(metadataFile, content, StandardCharsets.UTF_8);
+        return metadataFile;
+    }
+}
@@ -0,0 +1,278 @@
+package com.ldtteam.jam.neoform;
+
+import com.ldtteam.jam.spi.ast.metadata.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class MetadataSnapshotTest
+{
+    private static final String METADATA = """
+      {
+        "a/A": {
+          "superName": "java/lang/Object",
+          "interfaces": [ "a/I", "java/lang/Comparable" ],
+          "access": 1057,
+          "signature": "Ljava/lang/Object;Ljava/lang/Comparable<La/A;>;",
+          "fields": {
+            "value": { "desc": "Ljava/lang/String;", "access": 18, "signature": "TT;", "force": "f_value" },
+            "counter": { "desc": "I", "access": 4106 }
+          },
+          "methods": {
+            "compareTo(Ljava/lang/Object;)I": {
+              "access": 4161,
+              "bouncer": {
+                "target": { "owner": "a/A", "name": "compareTo", "desc": "(La/A;)I" },
+                "owner": { "owner": "a/A", "name": "compareTo", "desc": "(Ljava/lang/Object;)I" }
+              },
+              "overrides": [
+                { "owner": "java/lang/Comparable", "name": "compareTo", "desc": "(Ljava/lang/Object;)I" },
+                { "owner": "a/I", "name": "compareTo", "desc": "(Ljava/lang/Object;)I" }
+              ]
+            },
+            "compareTo(La/A;)I": { "access": 1, "signature": "(La/A;)I", "force": "m_compare", "parent": { "owner": "a/B", "name": "compareTo", "desc": "(La/A;)I" } },
+            "<init>()V": { "access": 4 }
+          }
+        },
+        "a/R": {
+          "superName": "java/lang/Record",
+          "access": 49,
+          "fields": {},
+          "methods": {},
+          "records": [
+            { "field": "name", "desc": "Ljava/lang/String;", "methods": [ "name", "getName" ] },
+            { "field": "size", "desc": "I", "methods": [] }
+          ]
+        },
+        "a/I": { "access": 1537, "interfaces": [] },
+        "a/E": { "superName": "java/lang/Enum", "access": 16401, "fields": { "VALUE": { "desc": "La/E;", "access": 16409 } } },
+        "a/Bare": {},
+        "a/Missing": null,
+        "a/\\u00dcn\\u00efc\\u00f6d\\u00e9": { "superName": "a/A", "access": 0 }
+      }
+      """;
+
+    @Test
+    void snapshotGivesTheMetadataItWasWrittenFrom(@TempDir final Path directory) throws IOException
+    {
+        final Path metadataFile = write(directory.resolve("metadata.json"), METADATA);
+        final IMetadataAST expected = TSRGMetadataASTBuilder.create(metadataFile).ast();
+
+        final Path snapshotFile = MetadataSnapshot.locate(directory.resolve("cache"), metadataFile);
+        MetadataSnapshot.write(snapshotFile, expected);
+        final Optional<IMetadataAST> actual = MetadataSnapshot.open(snapshotFile);
+
+        Assertions.assertTrue(actual.isPresent());
+        assertSameAST(expected, actual.get());
+    }
+
+    @Test
+    void snapshotFileIsKeyedByTheContentOfTheMetadataFile(@TempDir final Path directory) throws IOException
+    {
+        final Path cacheDirectory = directory.resolve("cache");
+        final Path metadataFile = write(directory.resolve("metadata.json"), METADATA);
+        final Path copiedMetadataFile = write(directory.resolve("copy.json"), METADATA);
+        final Path snapshotFile = MetadataSnapshot.locate(cacheDirectory, metadataFile);
+
+        Assertions.assertEquals(cacheDirectory, snapshotFile.getParent());
+        Assertions.assertEquals(snapshotFile, MetadataSnapshot.locate(cacheDirectory, copiedMetadataFile));
+
+        write(metadataFile, METADATA.replace("a/Bare", "a/Changed"));
+        Assertions.assertNotEquals(snapshotFile, MetadataSnapshot.locate(cacheDirectory, metadataFile));
+    }
+
+    @Test
+    void contentHashIsOnlyComputedAgainWhenTheMetadataFileChanges(@TempDir final Path directory) throws IOException
+    {
+        final Path cacheDirectory = directory.resolve("cache");
+        final Path metadataFile = write(directory.resolve("metadata.json"), METADATA);
+        final FileTime lastModified = FileTime.fromMillis(Files.getLastModifiedTime(metadataFile).toMillis());
+        final Path snapshotFile = MetadataSnapshot.locate(cacheDirectory, metadataFile);
+
+        //The size and modification time stay the same, so the content hash of the previous lookup is used.
+        write(metadataFile, METADATA.replace("a/Bare", "a/Bear"));
+        Files.setLastModifiedTime(metadataFile, lastModified);
+        Assertions.assertEquals(snapshotFile, MetadataSnapshot.locate(cacheDirectory, metadataFile));
+
+        Files.setLastModifiedTime(metadataFile, FileTime.fromMillis(lastModified.toMillis() + 1000));
+        final Path changedSnapshotFile = MetadataSnapshot.locate(cacheDirectory, metadataFile);
+        Assertions.assertNotEquals(snapshotFile, changedSnapshotFile);
+        Assertions.assertEquals(changedSnapshotFile, MetadataSnapshot.locate(cacheDirectory, write(directory.resolve("copy.json"), METADATA.replace("a/Bare", "a/Bear"))));
+    }
+
+    @Test
+    void missingAndInvalidSnapshotsAreIgnored(@TempDir final Path directory) throws IOException
+    {
+        Assertions.assertTrue(MetadataSnapshot.open(directory.resolve("missing.metadata")).isEmpty());
+        Assertions.assertTrue(MetadataSnapshot.open(write(directory.resolve("invalid.metadata"), "not a snapshot")).isEmpty());
+    }
+
+    @Test
+    void metadataIsLoadedDirectlyWithoutACacheDirectory(@TempDir final Path directory) throws IOException
+    {
+        final Path metadataFile = write(directory.resolve("metadata.json"), METADATA);
+
+        Assertions.assertTrue(SnapshotMetadataASTBuilder.create(metadataFile, Optional.empty()) instanceof TSRGMetadataASTBuilder);
+        Assertions.assertFalse(SnapshotMetadataASTBuilder.create(metadataFile, Optional.empty()).ast().getClassesByName().isEmpty());
+        try (final var files = Files.list(directory))
+        {
+            Assertions.assertEquals(List.of(metadataFile), files.toList());
+        }
+    }
+
+    @Test
+    void snapshotIsWrittenToAndServedFromTheCacheDirectory(@TempDir final Path directory) throws IOException
+    {
+        final Path cacheDirectory = directory.resolve("cache");
+        final Path metadataFile = write(directory.resolve("metadata.json"), METADATA);
+
+        final IMetadataAST written = SnapshotMetadataASTBuilder.create(metadataFile, Optional.of(cacheDirectory)).ast();
+        Assertions.assertTrue(Files.isRegularFile(MetadataSnapshot.locate(cacheDirectory, metadataFile)));
+
+        final IMetadataAST read = SnapshotMetadataASTBuilder.create(metadataFile, Optional.of(cacheDirectory)).ast();
+        assertSameAST(TSRGMetadataASTBuilder.create(metadataFile).ast(), written);
+        assertSameAST(TSRGMetadataASTBuilder.create(metadataFile).ast(), read);
+    }
+
+    private static void assertSameAST(final IMetadataAST expected, final IMetadataAST actual)
+    {
+        Assertions.assertEquals(List.copyOf(expected.getClassesByName().keySet()), List.copyOf(actual.getClassesByName().keySet()));
+        for (final String name : expected.getClassesByName().keySet())
+        {
+            assertSameClass(name, expected.getClassesByName().get(name), actual.getClassesByName().get(name));
+        }
+    }
+
+    private static void assertSameClass(final String name, final IMetadataClass expected, final IMetadataClass actual)
+    {
+        if (expected == null)
+        {
+            Assertions.assertNull(actual, name);
+            return;
+        }
+
+        Assertions.assertNotNull(actual, name);
+        assertSameAccess(name, expected, actual);
+        Assertions.assertEquals(expected.getSuperName(), actual.getSuperName(), name);
+        Assertions.assertEquals(copy(expected.getInterfaces()), copy(actual.getInterfaces()), name);
+        Assertions.assertEquals(expected.getSignature(), actual.getSignature(), name);
+
+        assertSameMembers(name, expected.getFieldsByName(), actual.getFieldsByName(), (fieldName, expectedField, actualField) -> {
+            assertSameAccess(fieldName, expectedField, actualField);
+            Assertions.assertEquals(expectedField.getDesc(), actualField.getDesc(), fieldName);
+            Assertions.assertEquals(expectedField.getSignature(), actualField.getSignature(), fieldName);
+            Assertions.assertEquals(expectedField.getForce(), actualField.getForce(), fieldName);
+        });
+
+        assertSameMembers(name, expected.getMethodsByName(), actual.getMethodsByName(), (methodName, expectedMethod, actualMethod) -> {
+            assertSameAccess(methodName, expectedMethod, actualMethod);
+            Assertions.assertEquals(expectedMethod.getSignature(), actualMethod.getSignature(), methodName);
+            Assertions.assertEquals(expectedMethod.getForce(), actualMethod.getForce(), methodName);
+            Assertions.assertEquals(describe(expectedMethod.getParent()), describe(actualMethod.getParent()), methodName);
+            Assertions.assertEquals(describe(expectedMethod.getOverrides()), describe(actualMethod.getOverrides()), methodName);
+
+            if (expectedMethod.getBouncer() == null)
+            {
+                Assertions.assertNull(actualMethod.getBouncer(), methodName);
+            }
+            else
+            {
+                Assertions.assertNotNull(actualMethod.getBouncer(), methodName);
+                Assertions.assertEquals(describe(expectedMethod.getBouncer().getTarget()), describe(actualMethod.getBouncer().getTarget()), methodName);
+                Assertions.assertEquals(describe(expectedMethod.getBouncer().getOwner()), describe(actualMethod.getBouncer().getOwner()), methodName);
+            }
+        });
+
+        if (expected.getRecords() == null)
+        {
+            Assertions.assertNull(actual.getRecords(), name);
+            return;
+        }
+
+        Assertions.assertNotNull(actual.getRecords(), name);
+        Assertions.assertEquals(expected.getRecords().size(), actual.getRecords().size(), name);
+        for (int i = 0; i < expected.getRecords().size(); i++)
+        {
+            final IMetadataRecordComponent expectedRecord = expected.getRecords().get(i);
+            final IMetadataRecordComponent actualRecord = actual.getRecords().get(i);
+            Assertions.assertEquals(expectedRecord.getField(), actualRecord.getField(), name);
+            Assertions.assertEquals(expectedRecord.getDesc(), actualRecord.getDesc(), name);
+            Assertions.assertEquals(copy(expectedRecord.getMethods()), copy(actualRecord.getMethods()), name);
+        }
+    }
+
+    private static <T> void assertSameMembers(
+      final String className,
+      final Map<String, ? extends T> expected,
+      final Map<String, ? extends T> actual,
+      final MemberAssertion<T> memberAssertion)
+    {
+        if (expected == null)
+        {
+            Assertions.assertNull(actual, className);
+            return;
+        }
+
+        Assertions.assertNotNull(actual, className);
+        Assertions.assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()), className);
+        for (final String name : expected.keySet())
+        {
+            memberAssertion.assertSame(className + "." + name, expected.get(name), actual.get(name));
+        }
+    }
+
+    private static void assertSameAccess(final String name, final IMetadataWithAccessInformation expected, final IMetadataWithAccessInformation actual)
+    {
+        Assertions.assertEquals(expected.isInterface(), actual.isInterface(), name);
+        Assertions.assertEquals(expected.isAbstract(), actual.isAbstract(), name);
+        Assertions.assertEquals(expected.isSynthetic(), actual.isSynthetic(), name);
+        Assertions.assertEquals(expected.isAnnotation(), actual.isAnnotation(), name);
+        Assertions.assertEquals(expected.isEnum(), actual.isEnum(), name);
+        Assertions.assertEquals(expected.isPackagePrivate(), actual.isPackagePrivate(), name);
+        Assertions.assertEquals(expected.isPublic(), actual.isPublic(), name);
+        Assertions.assertEquals(expected.isPrivate(), actual.isPrivate(), name);
+        Assertions.assertEquals(expected.isProtected(), actual.isProtected(), name);
+        Assertions.assertEquals(expected.isStatic(), actual.isStatic(), name);
+        Assertions.assertEquals(expected.isFinal(), actual.isFinal(), name);
+    }
+
+    private static List<String> copy(final Collection<String> values)
+    {
+        return values == null ? null : new ArrayList<>(values);
+    }
+
+    private static String describe(final IMetadataMethodReference reference)
+    {
+        return reference == null ? null : reference.getOwner() + "." + reference.getName() + reference.getDesc();
+    }
+
+    private static Set<String> describe(final Set<? extends IMetadataMethodReference> references)
+    {
+        return references == null ? null : references.stream().map(MetadataSnapshotTest::describe).collect(Collectors.toSet());
+    }
+
+    private static Path write(final Path file, final String content) throws IOException
+    {
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @FunctionalInterface
+    private interface MemberAssertion<T>
+    {
+        void assertSame(String name, T expected, T actual);
+    }
+}
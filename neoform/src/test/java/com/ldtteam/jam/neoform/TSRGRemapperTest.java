@@ -0,0 +1,92 @@
+package com.ldtteam.jam.neoform;
+
+import com.ldtteam.jam.spi.ast.metadata.IMetadataAST;
+import net.neoforged.srgutils.IMappingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+
+class TSRGRemapperTest
+{
+
+    @Test
+    void repeatedLookupsAreAnsweredFromTheCache()
+    {
+        //Only the super class renames the method, so looking it up in the sub class resolves the super class as well.
+        final IMappingFile mappingFile = mappingFile(Map.of(
+          "a/Super", mappingClass("renamed"),
+          "a/Sub", mappingClass(null)
+        ));
+        final MappingToyMetadata.ClassInfo subClass = new MappingToyMetadata.ClassInfo();
+        subClass.setSuperName("a/Super");
+        final IMetadataAST metadata = new MappingToyMetadata(Map.of("a/Sub", subClass, "a/Super", new MappingToyMetadata.ClassInfo()));
+        final TSRGRemapper remapper = new TSRGRemapper(mappingFile, metadata, "test");
+
+        Assertions.assertEquals(Optional.of("renamed"), remapper.remapMethod("a/Sub", "method", "()V"));
+        Assertions.assertEquals(0, remapper.lookupHits());
+        Assertions.assertEquals(2, remapper.lookupMisses());
+
+        Assertions.assertEquals(Optional.of("renamed"), remapper.remapMethod("a/Sub", "method", "()V"));
+        Assertions.assertEquals(Optional.of("renamed"), remapper.remapMethod("a/Super", "method", "()V"));
+        Assertions.assertEquals(2, remapper.lookupHits());
+        Assertions.assertEquals(2, remapper.lookupMisses());
+
+        Assertions.assertEquals(Optional.empty(), remapper.remapMethod("a/Unknown", "method", "()V"));
+        Assertions.assertEquals(Optional.empty(), remapper.remapMethod("a/Unknown", "method", "()V"));
+        Assertions.assertEquals(3, remapper.lookupHits());
+        Assertions.assertEquals(3, remapper.lookupMisses());
+    }
+
+    @Test
+    void fieldsAndMethodsAreCountedTogether()
+    {
+        final TSRGRemapper remapper = new TSRGRemapper(
+          mappingFile(Map.of("a/Class", mappingClass("renamed"))),
+          new MappingToyMetadata(Map.of("a/Class", new MappingToyMetadata.ClassInfo())),
+          "test"
+        );
+
+        Assertions.assertEquals(Optional.of("renamed"), remapper.remapField("a/Class", "member", "I"));
+        Assertions.assertEquals(Optional.of("renamed"), remapper.remapField("a/Class", "member", "I"));
+        Assertions.assertEquals(Optional.of("renamed"), remapper.remapMethod("a/Class", "member", "()I"));
+        Assertions.assertEquals(1, remapper.lookupHits());
+        Assertions.assertEquals(2, remapper.lookupMisses());
+    }
+
+    //Only the lookups of classes and their members are needed, so both are implemented as proxies.
+    private static IMappingFile mappingFile(final Map<String, IMappingFile.IClass> classes)
+    {
+        return (IMappingFile) Proxy.newProxyInstance(
+          TSRGRemapperTest.class.getClassLoader(),
+          new Class<?>[] { IMappingFile.class },
+          (proxy, method, arguments) -> {
+              if (method.getName().equals("getClass") && arguments != null && arguments.length == 1)
+              {
+                  return classes.get((String) arguments[0]);
+              }
+
+              throw new UnsupportedOperationException(method.getName());
+          }
+        );
+    }
+
+    //A class which renames all of its members to the given name, or keeps their names if it is null.
+    private static IMappingFile.IClass mappingClass(final String renamed)
+    {
+        return (IMappingFile.IClass) Proxy.newProxyInstance(
+          TSRGRemapperTest.class.getClassLoader(),
+          new Class<?>[] { IMappingFile.IClass.class },
+          (proxy, method, arguments) -> {
+              if (method.getName().equals("remapMethod") || method.getName().equals("remapField"))
+              {
+                  return renamed == null ? arguments[0] : renamed;
+              }
+
+              throw new UnsupportedOperationException(method.getName());
+          }
+        );
+    }
+}
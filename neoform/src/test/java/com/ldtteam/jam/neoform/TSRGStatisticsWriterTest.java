@@ -0,0 +1,88 @@
+package com.ldtteam.jam.neoform;
+
+import com.ldtteam.jam.rename.CachingRemapper;
+import com.ldtteam.jam.spi.configuration.Configuration;
+import com.ldtteam.jam.spi.configuration.InputConfiguration;
+import com.ldtteam.jam.spi.configuration.MappingRuntimeConfiguration;
+import com.ldtteam.jam.spi.configuration.OutputConfiguration;
+import com.ldtteam.jam.spi.configuration.StatisticsWritingConfiguration;
+import com.ldtteam.jam.spi.statistics.IFuzzyMatchingStatistics;
+import com.ldtteam.jam.statistics.FuzzyMatchingStatistics;
+import com.ldtteam.jam.statistics.MappingStatistics;
+import net.neoforged.srgutils.IMappingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+class TSRGStatisticsWriterTest
+{
+
+    @Test
+    void fuzzyMatchingStatisticsAreWrittenWhenTheyAreCollected(@TempDir final Path outputDirectory) throws IOException
+    {
+        final FuzzyMatchingStatistics fuzzyMatchingStatistics = new FuzzyMatchingStatistics();
+        fuzzyMatchingStatistics.recordInstructionCountRejection();
+        fuzzyMatchingStatistics.recordDiff(true);
+        final MappingStatistics mappingStatistics = new MappingStatistics();
+        mappingStatistics.getFuzzyMatchingStatistics().load(fuzzyMatchingStatistics);
+
+        final String statistics = write(outputDirectory, mappingStatistics, Optional.of(fuzzyMatchingStatistics));
+
+        Assertions.assertTrue(statistics.contains("Fuzzy matching statistics:"));
+        Assertions.assertTrue(statistics.contains("Rejected by instruction count"));
+        Assertions.assertTrue(statistics.contains("Diffed"));
+    }
+
+    @Test
+    void fuzzyMatchingStatisticsAreOmittedWhenTheyAreNotCollected(@TempDir final Path outputDirectory) throws IOException
+    {
+        final String statistics = write(outputDirectory, new MappingStatistics(), Optional.empty());
+
+        Assertions.assertFalse(statistics.contains("Fuzzy matching statistics:"));
+        Assertions.assertFalse(statistics.contains("Rejected by instruction count"));
+        Assertions.assertTrue(statistics.contains("Total mapping statistics:"));
+    }
+
+    @Test
+    void lookupsOfTheTSRGRemappersAreWritten(@TempDir final Path outputDirectory) throws IOException
+    {
+        final String statistics = write(outputDirectory, new MappingStatistics(), Optional.empty());
+
+        Assertions.assertTrue(statistics.contains("Remapper lookup statistics:"));
+        Assertions.assertTrue(statistics.contains("| remapped "));
+        Assertions.assertFalse(statistics.contains("| unmapped "));
+    }
+
+    private static String write(final Path outputDirectory, final MappingStatistics mappingStatistics, final Optional<IFuzzyMatchingStatistics> fuzzyMatchingStatistics) throws IOException
+    {
+        //The remapper is never asked to remap anything, so its mapping file does not need to support any lookups.
+        final IMappingFile mappingFile = (IMappingFile) Proxy.newProxyInstance(
+          TSRGStatisticsWriterTest.class.getClassLoader(),
+          new Class<?>[] { IMappingFile.class },
+          (proxy, method, arguments) -> {
+              throw new UnsupportedOperationException(method.getName());
+          }
+        );
+
+        final Configuration configuration = new Configuration(
+          List.of(
+            new InputConfiguration("remapped", outputDirectory, Optional.of(CachingRemapper.create(new TSRGRemapper(mappingFile, null, "test"))), Optional.empty(), Optional.empty()),
+            new InputConfiguration("unmapped", outputDirectory, Optional.empty(), Optional.empty(), Optional.empty())
+          ),
+          new OutputConfiguration(outputDirectory, null, null, null, null, null, null, new StatisticsWritingConfiguration(true, false)),
+          new MappingRuntimeConfiguration(null, null, null, null, fuzzyMatchingStatistics, Optional.empty()),
+          null,
+          null
+        );
+
+        TSRGStatisticsWriter.create().write(outputDirectory, mappingStatistics, configuration);
+        return Files.readString(outputDirectory.resolve("statistics.md"));
+    }
+}
@@ -143,7 +143,24 @@ public final class JammerRuntime
                 .withOptionalArg()
                 .ofType(Integer.class)
                 .defaultsTo(40);
-
+        final AbstractOptionSpec<Integer> fuzzyCandidateLimitOption = parser.acceptsAll(
+                Lists.newArrayList("fuzzyCandidateLimit", "fcl"),
+                "The maximal amount of similar candidates to fuzzy patch a method against, when a method has more candidates than that. The candidates are preselected by the similarity of their byte code, which is much faster but can miss a match in rare cases. 0 to fuzzy patch against all candidates.")
+                .withOptionalArg()
+                .ofType(Integer.class)
+                .defaultsTo(50);
+        final AbstractOptionSpec<Boolean> exhaustiveMethodMatchingOption = parser.acceptsAll(
+                Lists.newArrayList("exhaustiveMethodMatching", "emm"),
+                "Indicates if every method is fuzzy patched against all candidates, even if a candidate with the same byte code exists. This reproduces the results of older versions, but is much slower.")
+                .withOptionalArg()
+                .ofType(Boolean.class)
+                .defaultsTo(false);
+        final AbstractOptionSpec<Boolean> editDistanceSimilarityOption = parser.acceptsAll(
+                Lists.newArrayList("editDistanceSimilarity", "eds"),
+                "Indicates if fuzzy patching compares the edit distance of the byte code, instead of only matching changed byte code when the match percentage is 0.")
+                .withOptionalArg()
+                .ofType(Boolean.class)
+                .defaultsTo(false);
 
         final AbstractOptionSpec<Boolean> writeStatisticsToDiskOption = parser.acceptsAll(
             Lists.newArrayList("writeStatisticsToDisk", "wsd"),
@@ -158,6 +175,42 @@ public final class JammerRuntime
                                                                           .ofType(boolean.class)
                                                                           .defaultsTo(true);
 
+        final AbstractOptionSpec<Integer> classLoadingParallelismOption = parser.acceptsAll(
+            Lists.newArrayList("classLoadingParallelism", "clp"),
+            "The amount of classes to parse concurrently when loading a jar.")
+                                                                          .withOptionalArg()
+                                                                          .ofType(Integer.class)
+                                                                          .defaultsTo(1);
+        final AbstractOptionSpec<Integer> inputLoadingParallelismOption = parser.acceptsAll(
+            Lists.newArrayList("inputLoadingParallelism", "ilp"),
+            "The amount of input jars to load concurrently.")
+                                                                          .withOptionalArg()
+                                                                          .ofType(Integer.class)
+                                                                          .defaultsTo(1);
+        final AbstractOptionSpec<File> cacheDirectoryOption = parser.acceptsAll(
+            Lists.newArrayList("cacheDirectory", "cd"),
+            "The directory in which loaded and remapped classes, mapping transitions and metadata snapshots are cached between runs.")
+                                                                          .withOptionalArg()
+                                                                          .ofType(File.class);
+        final AbstractOptionSpec<Boolean> lazyMethodBodiesOption = parser.acceptsAll(
+            Lists.newArrayList("lazyMethodBodies", "lmb"),
+            "Indicates if the method bodies of the existing versions are only loaded when they are needed.")
+                                                                          .withOptionalArg()
+                                                                          .ofType(boolean.class)
+                                                                          .defaultsTo(false);
+        final AbstractOptionSpec<Integer> classPairMappingParallelismOption = parser.acceptsAll(
+            Lists.newArrayList("classPairMappingParallelism", "cpmp"),
+            "The amount of mapped class pairs whose members are mapped concurrently.")
+                                                                          .withOptionalArg()
+                                                                          .ofType(Integer.class)
+                                                                          .defaultsTo(1);
+        final AbstractOptionSpec<Integer> transitionMappingParallelismOption = parser.acceptsAll(
+            Lists.newArrayList("transitionMappingParallelism", "tmp"),
+            "The amount of transitions between consecutive versions to map concurrently.")
+                                                                          .withOptionalArg()
+                                                                          .ofType(Integer.class)
+                                                                          .defaultsTo(1);
+
         final OptionSet parsed = parser.parse(args);
 
         final List<String> existingNames = parsed.valuesOf(existingNamesOption);
@@ -178,10 +231,20 @@ public final class JammerRuntime
         final List<Integer> mappingMinimalBytecodeSizes = parsed.valuesOf(mappingMinimalBytecodeSizesOption);
         final List<Float> mappingMinimalByteCodeMatchPercentage = parsed.valuesOf(mappingMinimalByteCodeMatchPercentageOption);
         final int minimalByteCodeSizeForFuzzyPatching = parsed.valueOf(minimalByteCodeSizeForFuzzyPatchingOption);
+        final int fuzzyCandidateLimit = parsed.valueOf(fuzzyCandidateLimitOption);
+        final boolean editDistanceSimilarity = parsed.valueOf(editDistanceSimilarityOption);
+        final boolean exhaustiveMethodMatching = parsed.valueOf(exhaustiveMethodMatchingOption);
 
         final boolean shouldWriteStatisticsToDisk = parsed.valueOf(writeStatisticsToDiskOption);
         final boolean shouldWriteStatisticsToLog = parsed.valueOf(writeStatisticsToLogOption);
 
+        final int classLoadingParallelism = parsed.valueOf(classLoadingParallelismOption);
+        final int inputLoadingParallelism = parsed.valueOf(inputLoadingParallelismOption);
+        final Optional<Path> cacheDirectory = parsed.valueOfOptional(cacheDirectoryOption).map(File::toPath);
+        final boolean lazyMethodBodies = parsed.valueOf(lazyMethodBodiesOption);
+        final int classPairMappingParallelism = parsed.valueOf(classPairMappingParallelismOption);
+        final int transitionMappingParallelism = parsed.valueOf(transitionMappingParallelismOption);
+
         if (existingNames.size() != existingJars.size() || existingNames.size() != existingMappings.size() || existingNames.size() != existingIdentifiers.size() || existingNames.size() != existingMetadata.size())
         {
             LOGGER.error("The number of existing names, jars, mappings, metadata and identifiers must be equal.");
@@ -206,7 +269,7 @@ public final class JammerRuntime
             final String name = existingNames.get(i);
             final Path jar = existingJars.get(i).toPath();
             final Path metadata = existingMetadata.get(i).toPath();
-            final IMetadataAST ast = metadataASTProducer.from(metadata).ast();
+            final IMetadataAST ast = metadataASTProducer.from(metadata, cacheDirectory).ast();
             final Optional<IRemapper> remapped = Optional.ofNullable(obfuscatedToOfficialRemapperProducer.from(existingMappings.get(i).toPath(), ast));
             final Optional<IExistingIdentitySupplier> identifier = Optional.ofNullable(existingIdentitySupplierProducer.from(
               existingIdentifiers.get(i).toPath(),
@@ -220,7 +283,7 @@ public final class JammerRuntime
             inputConfigurations.add(new InputConfiguration(name, jar, remapped, identifier, names));
         }
 
-        final IMetadataAST inputAST = metadataASTProducer.from(inputMetadata.toPath()).ast();
+        final IMetadataAST inputAST = metadataASTProducer.from(inputMetadata.toPath(), cacheDirectory).ast();
 
         inputConfigurations.add(
           new InputConfiguration(inputName, inputJar.toPath(), Optional.of(obfuscatedToOfficialRemapperProducer.from(inputMapping.toPath(), inputAST)), Optional.empty(), Optional.empty())
@@ -230,7 +293,7 @@ public final class JammerRuntime
           outputPath.toPath(),
           newIdentitySupplierProducer.from(existingIdentifiers.get(existingIdentifiers.size() - 1).toPath()),
           namedASTProducer.from(inputMapping.toPath(), inputAST),
-          metadataASTProducer.from(inputMetadata.toPath()),
+          metadataASTProducer.from(inputMetadata.toPath(), cacheDirectory),
           namedASTOutputWriterProducer.create(),
           statisticsWriterProducer.create(),
           new MetadataWritingConfiguration(writeLambdaMetaInformationValue),
@@ -243,14 +306,20 @@ public final class JammerRuntime
                                                                     mappingMinimalByteCodeMatchPercentage::get,
                                                                     (a, b) -> b));
 
-        final MappingConfiguration mappingConfiguration = new MappingConfiguration(mappingThresholdPercentages, minimalByteCodeSizeForFuzzyPatching);
+        final MappingConfiguration mappingConfiguration = new MappingConfiguration(mappingThresholdPercentages, minimalByteCodeSizeForFuzzyPatching, fuzzyCandidateLimit, editDistanceSimilarity, exhaustiveMethodMatching);
 
         final MappingRuntimeConfiguration runtimeConfiguration = mappingRuntimeConfigurationProducer.create(mappingConfiguration);
 
+        final LoadingConfiguration loadingConfiguration = new LoadingConfiguration(classLoadingParallelism, inputLoadingParallelism, cacheDirectory, lazyMethodBodies);
+
+        final ExecutionConfiguration executionConfiguration = new ExecutionConfiguration(classPairMappingParallelism, transitionMappingParallelism);
+
         final Configuration configuration = new Configuration(
           inputConfigurations,
           outputConfiguration,
-          runtimeConfiguration
+          runtimeConfiguration,
+          loadingConfiguration,
+          executionConfiguration
         );
 
         final IJammer jammer = new Jammer();
@@ -297,7 +366,7 @@ public final class JammerRuntime
     @FunctionalInterface
     public interface IMetadataASTBuilderProducer
     {
-        IMetadataASTBuilder from(final Path metadata);
+        IMetadataASTBuilder from(final Path metadata, final Optional<Path> cacheDirectory);
     }
 
     @FunctionalInterface
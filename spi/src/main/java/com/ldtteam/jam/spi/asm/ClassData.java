@@ -2,5 +2,32 @@ package com.ldtteam.jam.spi.asm;
 
 import org.objectweb.asm.tree.ClassNode;
 
-public record ClassData(ClassNode node) {
+/**
+ * Represents a loaded class.
+ * Classes which are loaded as part of a version carry a dense ordinal, unique within that version, as well as the
+ * ordinals of their first method, field and parameter. The members of the class are numbered consecutively from
+ * there, in declaration order. Classes which are not part of a loaded version use {@link #UNINDEXED} for all of them.
+ *
+ * @param node The class node.
+ * @param ordinal The ordinal of the class within its version.
+ * @param firstMethodOrdinal The ordinal of the first method of the class within its version.
+ * @param firstFieldOrdinal The ordinal of the first field of the class within its version.
+ * @param firstParameterOrdinal The ordinal of the first parameter of the first method of the class within its version.
+ */
+public record ClassData(ClassNode node, int ordinal, int firstMethodOrdinal, int firstFieldOrdinal, int firstParameterOrdinal) {
+
+    public static final int UNINDEXED = -1;
+
+    public ClassData(final ClassNode node) {
+        this(node, UNINDEXED, UNINDEXED, UNINDEXED, UNINDEXED);
+    }
+
+    /**
+     * Indicates if the class, and with that its members, have ordinals.
+     *
+     * @return True when the class is indexed.
+     */
+    public boolean isIndexed() {
+        return ordinal != UNINDEXED;
+    }
 }
@@ -2,5 +2,30 @@ package com.ldtteam.jam.spi.asm;
 
 import org.objectweb.asm.tree.FieldNode;
 
-public record FieldData(ClassData owner, FieldNode node) {
+/**
+ * Represents a field of a loaded class.
+ *
+ * @param owner The class which declares the field.
+ * @param node The field node.
+ * @param ordinal The ordinal of the field within its version, or {@link ClassData#UNINDEXED}.
+ */
+public record FieldData(ClassData owner, FieldNode node, int ordinal) {
+
+    /**
+     * Creates the field data for the given field node, looking up its ordinal in its owner.
+     *
+     * @param owner The class which declares the field.
+     * @param node The field node.
+     */
+    public FieldData(final ClassData owner, final FieldNode node) {
+        this(owner, node, ordinalOf(owner, node));
+    }
+
+    private static int ordinalOf(final ClassData owner, final FieldNode node) {
+        if (!owner.isIndexed())
+            return ClassData.UNINDEXED;
+
+        final int index = owner.node().fields.indexOf(node);
+        return index < 0 ? ClassData.UNINDEXED : owner.firstFieldOrdinal() + index;
+    }
 }
@@ -0,0 +1,18 @@
+package com.ldtteam.jam.spi.asm;
+
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Represents a class node whose method bodies are only loaded when they are first needed.
+ * Until then the instructions of its methods are empty.
+ */
+public interface ILazyClassNode
+{
+    /**
+     * Ensures that the body of the given method, which needs to be one of the methods of this class node, is loaded.
+     * Calling this method for an already loaded method does nothing.
+     *
+     * @param methodNode The method to load the body for.
+     */
+    void materialize(MethodNode methodNode);
+}
@@ -1,6 +1,77 @@
 package com.ldtteam.jam.spi.asm;
 
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.MethodNode;
 
-public record MethodData(ClassData owner, MethodNode node) {
+/**
+ * Represents a method of a loaded class.
+ *
+ * @param owner The class which declares the method.
+ * @param node The method node.
+ * @param ordinal The ordinal of the method within its version, or {@link ClassData#UNINDEXED}.
+ * @param firstParameterOrdinal The ordinal of the first parameter of the method within its version, or {@link ClassData#UNINDEXED}.
+ */
+public record MethodData(ClassData owner, MethodNode node, int ordinal, int firstParameterOrdinal) {
+
+    /**
+     * Creates the method data for the given method node, looking up its ordinals in its owner.
+     * When the ordinals of all methods of a class are needed, it is cheaper to create them with running offsets instead.
+     *
+     * @param owner The class which declares the method.
+     * @param node The method node.
+     */
+    public MethodData(final ClassData owner, final MethodNode node) {
+        this(owner, node, ordinalOf(owner, node), firstParameterOrdinalOf(owner, node));
+    }
+
+    /**
+     * Gives access to the instructions of the method, loading the body of the method first if its owner is loaded lazily.
+     *
+     * @return The instructions of the method.
+     */
+    public InsnList instructions() {
+        if (owner.node() instanceof ILazyClassNode lazyClassNode) {
+            lazyClassNode.materialize(node);
+        }
+
+        return node.instructions;
+    }
+
+    /**
+     * Determines the amount of parameters of the given method.
+     * This is the amount of parameter nodes if the method has them, or the amount of arguments in its descriptor otherwise.
+     *
+     * @param node The method node.
+     * @return The amount of parameters.
+     */
+    public static int parameterCount(final MethodNode node) {
+        if (node.parameters != null)
+            return node.parameters.size();
+
+        return Type.getArgumentTypes(node.desc).length;
+    }
+
+    private static int ordinalOf(final ClassData owner, final MethodNode node) {
+        if (!owner.isIndexed())
+            return ClassData.UNINDEXED;
+
+        final int index = owner.node().methods.indexOf(node);
+        return index < 0 ? ClassData.UNINDEXED : owner.firstMethodOrdinal() + index;
+    }
+
+    private static int firstParameterOrdinalOf(final ClassData owner, final MethodNode node) {
+        if (!owner.isIndexed())
+            return ClassData.UNINDEXED;
+
+        int firstParameterOrdinal = owner.firstParameterOrdinal();
+        for (final MethodNode methodNode : owner.node().methods) {
+            if (methodNode == node)
+                return firstParameterOrdinal;
+
+            firstParameterOrdinal += parameterCount(methodNode);
+        }
+
+        return ClassData.UNINDEXED;
+    }
 }
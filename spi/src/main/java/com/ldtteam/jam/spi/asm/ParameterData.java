@@ -2,5 +2,19 @@ package com.ldtteam.jam.spi.asm;
 
 import org.objectweb.asm.tree.ParameterNode;
 
-public record ParameterData(ClassData classOwner, MethodData owner, ParameterNode node, int index, String desc) {
+/**
+ * Represents a parameter of a method of a loaded class.
+ *
+ * @param classOwner The class which declares the method.
+ * @param owner The method which declares the parameter.
+ * @param node The parameter node.
+ * @param index The index of the parameter in the descriptor of the method.
+ * @param desc The descriptor of the parameter type.
+ * @param ordinal The ordinal of the parameter within its version, or {@link ClassData#UNINDEXED}.
+ */
+public record ParameterData(ClassData classOwner, MethodData owner, ParameterNode node, int index, String desc, int ordinal) {
+
+    public ParameterData(final ClassData classOwner, final MethodData owner, final ParameterNode node, final int index, final String desc) {
+        this(classOwner, owner, node, index, desc, owner.firstParameterOrdinal() == ClassData.UNINDEXED ? ClassData.UNINDEXED : owner.firstParameterOrdinal() + index);
+    }
 }
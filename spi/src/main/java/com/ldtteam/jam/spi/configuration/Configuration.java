@@ -2,6 +2,6 @@ package com.ldtteam.jam.spi.configuration;
 
 import java.util.List;
 
-public record Configuration(List<InputConfiguration> inputs, OutputConfiguration outputConfiguration, MappingRuntimeConfiguration runtimeConfiguration)
+public record Configuration(List<InputConfiguration> inputs, OutputConfiguration outputConfiguration, MappingRuntimeConfiguration runtimeConfiguration, LoadingConfiguration loadingConfiguration, ExecutionConfiguration executionConfiguration)
 {
 }
@@ -0,0 +1,5 @@
+package com.ldtteam.jam.spi.configuration;
+
+public record ExecutionConfiguration(int classPairMappingParallelism, int transitionMappingParallelism)
+{
+}
@@ -0,0 +1,8 @@
+package com.ldtteam.jam.spi.configuration;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public record LoadingConfiguration(int classLoadingParallelism, int inputLoadingParallelism, Optional<Path> cacheDirectory, boolean lazyMethodBodies)
+{
+}
@@ -2,6 +2,6 @@ package com.ldtteam.jam.spi.configuration;
 
 import java.util.Map;
 
-public record MappingConfiguration(Map<Integer, Float> mappingThresholdPercentage, int minimalInstructionCount)
+public record MappingConfiguration(Map<Integer, Float> mappingThresholdPercentage, int minimalInstructionCount, int fuzzyCandidateLimit, boolean editDistanceSimilarity, boolean exhaustiveMethodMatching)
 {
 }
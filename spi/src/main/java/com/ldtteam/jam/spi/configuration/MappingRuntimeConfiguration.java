@@ -5,7 +5,10 @@ import com.ldtteam.jam.spi.asm.FieldData;
 import com.ldtteam.jam.spi.asm.MethodData;
 import com.ldtteam.jam.spi.asm.ParameterData;
 import com.ldtteam.jam.spi.mapping.IMapper;
+import com.ldtteam.jam.spi.statistics.IFuzzyMatchingStatistics;
 
-public record MappingRuntimeConfiguration(IMapper<ClassData> classMapper, IMapper<MethodData> methodMapper, IMapper<FieldData> fieldMapper, IMapper<ParameterData> parameterMapper)
+import java.util.Optional;
+
+public record MappingRuntimeConfiguration(IMapper<ClassData> classMapper, IMapper<MethodData> methodMapper, IMapper<FieldData> fieldMapper, IMapper<ParameterData> parameterMapper, Optional<IFuzzyMatchingStatistics> fuzzyMatchingStatistics, Optional<String> cacheKey)
 {
 }
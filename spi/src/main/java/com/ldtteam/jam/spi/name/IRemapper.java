@@ -41,6 +41,11 @@ public interface IRemapper
             public IRemapper reverse() {
                 return this;
             }
+
+            @Override
+            public Optional<String> cacheKey() {
+                return Optional.of("identity");
+            }
         };
     }
 
@@ -57,4 +62,15 @@ public interface IRemapper
     Optional<String> remapPackage(String packageName);
 
     IRemapper reverse();
+
+    /**
+     * A key which uniquely identifies the remapping this remapper performs.
+     * Two remappers with the same key need to produce the same results, so that data remapped by one of them can be
+     * cached and reused in place of data remapped by the other.
+     *
+     * @return The key of this remapper, or empty if the results of this remapper can not be cached.
+     */
+    default Optional<String> cacheKey() {
+        return Optional.empty();
+    }
 }
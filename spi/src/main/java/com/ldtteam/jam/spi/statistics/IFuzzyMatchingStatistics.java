@@ -0,0 +1,12 @@
+package com.ldtteam.jam.spi.statistics;
+
+public interface IFuzzyMatchingStatistics
+{
+    long getRejectedByInstructionCount();
+
+    long getRejectedByOpcodeHistogram();
+
+    long getDiffed();
+
+    long getMatched();
+}
@@ -34,4 +34,6 @@ public interface IMappingStatistics
     ITypedMappingStatistics getTotalFieldStatistics();
 
     ITypedMappingStatistics getTotalParameterStatistics();
+
+    IFuzzyMatchingStatistics getFuzzyMatchingStatistics();
 }